@@ -0,0 +1,45 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.devenv.vastgui.streamapp.collector
+
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+import java.io.ByteArrayInputStream
+import java.io.File
+import java.util.zip.GZIPInputStream
+
+/**
+ * Stand-in collector of the log-remote module, the received batches are
+ * printed and appended to `received.log` in `collector.dir`.
+ */
+@Component
+class LogCollector(@Value("\${collector.dir:collector}") dir: String) {
+
+    private val file = File(dir, "received.log").apply { parentFile.mkdirs() }
+
+    fun receive(payload: ByteArray, gzip: Boolean) {
+        val content = if (gzip) {
+            GZIPInputStream(ByteArrayInputStream(payload)).use { String(it.readBytes()) }
+        } else {
+            String(payload)
+        }
+        synchronized(this) {
+            println(content)
+            file.appendText(content + "\n")
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.devenv.vastgui.streamapp.collector
+
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.beans.factory.InitializingBean
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+import java.io.DataInputStream
+import java.io.IOException
+import java.net.ServerSocket
+import java.net.Socket
+import kotlin.concurrent.thread
+
+/**
+ * TCP endpoint for `LogTransport.tcp`, each frame is a 4 bytes length and
+ * a gzip payload, acknowledged with a single `1` byte.
+ */
+@Component
+class TcpLogCollector(
+    private val collector: LogCollector,
+    @Value("\${collector.tcp.port:7778}") private val port: Int
+) : InitializingBean, DisposableBean {
+
+    private lateinit var server: ServerSocket
+
+    override fun afterPropertiesSet() {
+        server = ServerSocket(port)
+        thread(name = "TcpLogCollector", isDaemon = true) {
+            while (!server.isClosed) {
+                val socket = try {
+                    server.accept()
+                } catch (exception: IOException) {
+                    break
+                }
+                thread(name = "TcpLogCollector-${socket.port}", isDaemon = true) { serve(socket) }
+            }
+        }
+    }
+
+    override fun destroy() {
+        server.close()
+    }
+
+    private fun serve(socket: Socket) = socket.use {
+        val input = DataInputStream(it.getInputStream())
+        val output = it.getOutputStream()
+        try {
+            while (true) {
+                val payload = ByteArray(input.readInt())
+                input.readFully(payload)
+                collector.receive(payload, true)
+                output.write(1)
+                output.flush()
+            }
+        } catch (exception: IOException) {
+            // The connection is closed.
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.devenv.vastgui.streamapp.controller
+
+import com.devenv.vastgui.streamapp.collector.LogCollector
+import org.springframework.http.HttpHeaders
+import org.springframework.http.ResponseEntity
+import org.springframework.web.bind.annotation.PostMapping
+import org.springframework.web.bind.annotation.RequestBody
+import org.springframework.web.bind.annotation.RequestHeader
+import org.springframework.web.bind.annotation.RestController
+
+/** HTTP endpoint for `LogTransport.http`. */
+@RestController
+class LogCollectorController(private val collector: LogCollector) {
+
+    @PostMapping("/logs")
+    suspend fun logs(
+        @RequestHeader(HttpHeaders.CONTENT_ENCODING, required = false) encoding: String?,
+        @RequestBody payload: ByteArray
+    ): ResponseEntity<Unit> {
+        collector.receive(payload, "gzip".equals(encoding, true))
+        return ResponseEntity.noContent().build()
+    }
+}
@@ -70,6 +70,10 @@ android {
 }
 
 dependencies {
+    implementation(projects.libraries.kernel) {
+        // Only the primitive maps are used, kotlin-reflect is only needed by Any.toMap().
+        exclude(group = "org.jetbrains.kotlin", module = "kotlin-reflect")
+    }
     implementation(libs.paging.runtime)
     implementation(libs.recyclerview)
     implementation(libs.core.ktx)
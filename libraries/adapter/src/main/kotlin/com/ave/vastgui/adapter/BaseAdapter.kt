@@ -17,19 +17,18 @@
 package com.ave.vastgui.adapter
 
 import android.content.Context
-import android.content.res.Resources
-import android.util.SparseArray
-import android.view.View
 import android.view.ViewGroup
 import androidx.annotation.LayoutRes
-import androidx.core.util.forEach
 import androidx.recyclerview.widget.RecyclerView
 import com.ave.vastgui.adapter.base.EmptyHolderFactory
+import com.ave.vastgui.adapter.base.ItemClickDispatcher
 import com.ave.vastgui.adapter.base.ItemClickListener
 import com.ave.vastgui.adapter.base.ItemHolder
 import com.ave.vastgui.adapter.base.ItemWrapper
+import com.ave.vastgui.adapter.base.LayoutValidator
 import com.ave.vastgui.adapter.listener.OnItemClickListener
 import com.ave.vastgui.adapter.listener.OnItemLongClickListener
+import com.ave.vastgui.core.collections.IntObjectMap
 
 // Author: Vast Gui
 // Email: guihy2019@gmail.com
@@ -47,9 +46,10 @@ open class BaseAdapter<T : Any> @JvmOverloads constructor(
     protected val mItemList: MutableList<ItemWrapper<T>> = mutableListOf(),
 ) : RecyclerView.Adapter<ItemHolder<T>>(), ItemClickListener<T> {
 
-    private val mType2Factory = SparseArray<ItemHolder.HolderFactory<T>>()
+    private val mType2Factory = IntObjectMap<ItemHolder.HolderFactory<T>>()
     private var mOnItemClickListener: OnItemClickListener<T>? = null
     private var mOnItemLongClickListener: OnItemLongClickListener<T>? = null
+    private val mLayoutValidator = LayoutValidator(mContext.resources)
     private var mEmptyItem: ItemWrapper<T>? = null
 
     /**
@@ -65,56 +65,22 @@ open class BaseAdapter<T : Any> @JvmOverloads constructor(
     final override fun onBindViewHolder(holder: ItemHolder<T>, position: Int) {
         val itemData = mItemList[position]
         itemData.data?.apply { holder.onBindData(this) }
-        holder.itemView.setOnClickListener {
-            if (null != itemData.getOnItemClickListener()) {
-                itemData.getOnItemClickListener()
-                    ?.onItemClick(holder.itemView, position, itemData.data)
-            } else {
-                mOnItemClickListener?.onItemClick(holder.itemView, position, itemData.data)
-            }
-        }
-        holder.itemView.setOnLongClickListener {
-            val res = if (null != itemData.getOnItemLongClickListener()) {
-                itemData.getOnItemLongClickListener()
-                    ?.onItemLongClick(holder.itemView, position, itemData.data)
-            } else {
-                mOnItemLongClickListener?.onItemLongClick(holder.itemView, position, itemData.data)
-            }
-            return@setOnLongClickListener res ?: false
-        }
-        itemData.mOnItemChildClickArray?.forEach { key, value ->
-            holder.itemView.findViewById<View>(key)?.let { childView ->
-                childView.setOnClickListener {
-                    value.onItemClick(childView, position, itemData.data)
-                }
-            }
-        }
-        itemData.mOnItemChildLongClickArray?.forEach { key, value ->
-            holder.itemView.findViewById<View>(key)?.let { childView ->
-                childView.setOnClickListener {
-                    value.onItemLongClick(childView, position, itemData.data)
-                }
-            }
-        }
+        holder.mClickDispatcher?.bindChildren(itemData)
     }
 
     final override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): ItemHolder<T> {
-        mType2Factory.forEach { key, factory ->
-            if (key == viewType) {
-                return factory.onCreateHolder(parent, viewType)
+        val factory = mType2Factory[viewType]
+            ?: throw RuntimeException("Not found the factory according to the $viewType.")
+        return factory.onCreateHolder(parent, viewType).apply {
+            mClickDispatcher = ItemClickDispatcher(this, this@BaseAdapter) {
+                mItemList.getOrNull(it)
             }
         }
-        throw RuntimeException("Not found the factory according to the $viewType.")
     }
 
     final override fun getItemViewType(position: Int): Int {
         val viewType = mItemList[position].layoutId
-        try {
-            mContext.resources.getLayout(viewType)
-        } catch (e: Resources.NotFoundException) {
-            throw IllegalArgumentException("Please check if the return layoutId is correct.")
-        }
-        return viewType
+        return mLayoutValidator.validate(viewType)
     }
 
     final override fun setOnItemClickListener(listener: OnItemClickListener<T>?) {
@@ -309,7 +275,7 @@ open class BaseAdapter<T : Any> @JvmOverloads constructor(
             mItemList.remove(mEmptyItem!!)
             notifyItemRemoved(0)
         }
-        mType2Factory.put(id, EmptyHolderFactory(id))
+        mType2Factory.put(mLayoutValidator.validate(id), EmptyHolderFactory(id))
         mEmptyItem = ItemWrapper<T>(null, id).also(scope)
         if (isEmpty()) {
             mItemList.add(mEmptyItem!!)
@@ -330,7 +296,7 @@ open class BaseAdapter<T : Any> @JvmOverloads constructor(
 
     init {
         factories.forEach { factory ->
-            mType2Factory.put(factory.layoutId, factory)
+            mType2Factory.put(mLayoutValidator.validate(factory.layoutId), factory)
         }
     }
 
@@ -17,18 +17,17 @@
 package com.ave.vastgui.adapter
 
 import android.content.Context
-import android.content.res.Resources
 import android.view.LayoutInflater
-import android.view.View
 import android.view.ViewGroup
 import androidx.annotation.LayoutRes
-import androidx.core.util.forEach
 import androidx.databinding.DataBindingUtil
 import androidx.databinding.ViewDataBinding
 import androidx.recyclerview.widget.RecyclerView
 import com.ave.vastgui.adapter.base.ItemBindHolder
+import com.ave.vastgui.adapter.base.ItemClickDispatcher
 import com.ave.vastgui.adapter.base.ItemClickListener
 import com.ave.vastgui.adapter.base.ItemWrapper
+import com.ave.vastgui.adapter.base.LayoutValidator
 import com.ave.vastgui.adapter.listener.OnItemClickListener
 import com.ave.vastgui.adapter.listener.OnItemLongClickListener
 
@@ -63,6 +62,7 @@ open class BaseBindAdapter<T : Any> @JvmOverloads constructor(
 
     private var mOnItemClickListener: OnItemClickListener<T>? = null
     private var mOnItemLongClickListener: OnItemLongClickListener<T>? = null
+    private val mLayoutValidator = LayoutValidator(mContext.resources)
     private var mEmptyItem: ItemWrapper<T>? = null
 
     /**
@@ -78,37 +78,7 @@ open class BaseBindAdapter<T : Any> @JvmOverloads constructor(
     final override fun onBindViewHolder(holder: ItemBindHolder<T>, position: Int) {
         val itemData = mItemList[position]
         itemData.data?.apply { holder.onBindData(mVariableId, this) }
-        holder.itemView.setOnClickListener {
-            if (null != itemData.getOnItemClickListener()) {
-                itemData.getOnItemClickListener()
-                    ?.onItemClick(holder.itemView, position, itemData.data)
-            } else {
-                mOnItemClickListener?.onItemClick(holder.itemView, position, itemData.data)
-            }
-        }
-        holder.itemView.setOnLongClickListener {
-            val res = if (null != itemData.getOnItemLongClickListener()) {
-                itemData.getOnItemLongClickListener()
-                    ?.onItemLongClick(holder.itemView, position, itemData.data)
-            } else {
-                mOnItemLongClickListener?.onItemLongClick(holder.itemView, position, itemData.data)
-            }
-            return@setOnLongClickListener res ?: false
-        }
-        itemData.mOnItemChildClickArray?.forEach { key, value ->
-            holder.itemView.findViewById<View>(key)?.let { childView ->
-                childView.setOnClickListener {
-                    value.onItemClick(childView, position, itemData.data)
-                }
-            }
-        }
-        itemData.mOnItemChildLongClickArray?.forEach { key, value ->
-            holder.itemView.findViewById<View>(key)?.let { childView ->
-                childView.setOnClickListener {
-                    value.onItemLongClick(childView, position, itemData.data)
-                }
-            }
-        }
+        holder.mClickDispatcher?.bindChildren(itemData)
     }
 
     final override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): ItemBindHolder<T> {
@@ -118,17 +88,16 @@ open class BaseBindAdapter<T : Any> @JvmOverloads constructor(
             parent,
             false
         )
-        return setViewHolder(binding)
+        return setViewHolder(binding).apply {
+            mClickDispatcher = ItemClickDispatcher(this, this@BaseBindAdapter) {
+                mItemList.getOrNull(it)
+            }
+        }
     }
 
     final override fun getItemViewType(position: Int): Int {
         val viewType = mItemList[position].layoutId
-        try {
-            mContext.resources.getLayout(viewType)
-        } catch (e: Resources.NotFoundException) {
-            throw IllegalArgumentException("Please check if the return layoutId is correct.")
-        }
-        return viewType
+        return mLayoutValidator.validate(viewType)
     }
 
     final override fun setOnItemClickListener(listener: OnItemClickListener<T>?) {
@@ -17,12 +17,9 @@
 package com.ave.vastgui.adapter
 
 import android.content.Context
-import android.content.res.Resources
 import android.view.LayoutInflater
-import android.view.View
 import android.view.ViewGroup
 import androidx.annotation.LayoutRes
-import androidx.core.util.forEach
 import androidx.databinding.DataBindingUtil
 import androidx.databinding.ViewDataBinding
 import androidx.lifecycle.Lifecycle
@@ -32,9 +29,11 @@ import androidx.paging.PagingDataAdapter
 import androidx.paging.PagingSource
 import androidx.paging.map
 import com.ave.vastgui.adapter.base.ItemBindHolder
+import com.ave.vastgui.adapter.base.ItemClickDispatcher
 import com.ave.vastgui.adapter.base.ItemClickListener
 import com.ave.vastgui.adapter.base.ItemDiffUtil
 import com.ave.vastgui.adapter.base.ItemWrapper
+import com.ave.vastgui.adapter.base.LayoutValidator
 import com.ave.vastgui.adapter.listener.OnItemClickListener
 import com.ave.vastgui.adapter.listener.OnItemLongClickListener
 import kotlinx.coroutines.flow.Flow
@@ -70,40 +69,12 @@ open class BaseBindPagingAdapter<T : Any>(
 
     private var mOnItemClickListener: OnItemClickListener<T>? = null
     private var mOnItemLongClickListener: OnItemLongClickListener<T>? = null
+    private val mLayoutValidator = LayoutValidator(mContext.resources)
 
     final override fun onBindViewHolder(holder: ItemBindHolder<T>, position: Int) {
         val itemData = getItem(position) ?: return
         itemData.data?.apply { holder.onBindData(mVariableId, this) }
-        holder.itemView.setOnClickListener {
-            if (null != itemData.getOnItemClickListener()) {
-                itemData.getOnItemClickListener()?.onItemClick(holder.itemView, position, itemData.data)
-            } else {
-                mOnItemClickListener?.onItemClick(holder.itemView, position, itemData.data)
-            }
-        }
-        holder.itemView.setOnLongClickListener {
-            val res = if (null != itemData.getOnItemLongClickListener()) {
-                itemData.getOnItemLongClickListener()
-                    ?.onItemLongClick(holder.itemView, position, itemData.data)
-            } else {
-                mOnItemLongClickListener?.onItemLongClick(holder.itemView, position, itemData.data)
-            }
-            return@setOnLongClickListener res ?: false
-        }
-        itemData.mOnItemChildClickArray?.forEach { key, value ->
-            holder.itemView.findViewById<View>(key)?.let { childView ->
-                childView.setOnClickListener {
-                    value.onItemClick(childView, position, itemData.data)
-                }
-            }
-        }
-        itemData.mOnItemChildLongClickArray?.forEach { key, value ->
-            holder.itemView.findViewById<View>(key)?.let { childView ->
-                childView.setOnClickListener {
-                    value.onItemLongClick(childView, position, itemData.data)
-                }
-            }
-        }
+        holder.mClickDispatcher?.bindChildren(itemData)
     }
 
     final override fun onCreateViewHolder(
@@ -112,18 +83,15 @@ open class BaseBindPagingAdapter<T : Any>(
         val binding = DataBindingUtil.inflate<ViewDataBinding>(
             LayoutInflater.from(parent.context), viewType, parent, false
         )
-        return setViewHolder(binding)
+        return setViewHolder(binding).apply {
+            mClickDispatcher = ItemClickDispatcher(this, this@BaseBindPagingAdapter) { peek(it) }
+        }
     }
 
     final override fun getItemViewType(position: Int): Int {
         val item =
             getItem(position) ?: throw NullPointerException("Can't get the item by $position")
-        try {
-            mContext.resources.getLayout(item.layoutId)
-        } catch (e: Resources.NotFoundException) {
-            throw IllegalArgumentException("Please check if the return layoutId is correct.")
-        }
-        return item.layoutId
+        return mLayoutValidator.validate(item.layoutId)
     }
 
     final override fun setOnItemClickListener(listener: OnItemClickListener<T>?) {
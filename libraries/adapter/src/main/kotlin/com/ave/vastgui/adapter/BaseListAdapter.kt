@@ -17,20 +17,19 @@
 package com.ave.vastgui.adapter
 
 import android.content.Context
-import android.content.res.Resources
-import android.util.SparseArray
-import android.view.View
 import android.view.ViewGroup
 import androidx.annotation.LayoutRes
-import androidx.core.util.forEach
 import androidx.recyclerview.widget.ListAdapter
 import com.ave.vastgui.adapter.base.EmptyHolderFactory
+import com.ave.vastgui.adapter.base.ItemClickDispatcher
 import com.ave.vastgui.adapter.base.ItemClickListener
 import com.ave.vastgui.adapter.base.ItemDiffUtil
 import com.ave.vastgui.adapter.base.ItemHolder
 import com.ave.vastgui.adapter.base.ItemWrapper
+import com.ave.vastgui.adapter.base.LayoutValidator
 import com.ave.vastgui.adapter.listener.OnItemClickListener
 import com.ave.vastgui.adapter.listener.OnItemLongClickListener
+import com.ave.vastgui.core.collections.IntObjectMap
 
 // Author: Vast Gui
 // Email: guihy2019@gmail.com
@@ -48,65 +47,32 @@ open class BaseListAdapter<T : Any>(
     diffCallback: ItemDiffUtil<T>
 ) : ListAdapter<ItemWrapper<T>, ItemHolder<T>>(diffCallback), ItemClickListener<T> {
 
-    private val mType2Factory = SparseArray<ItemHolder.HolderFactory<T>>()
+    private val mType2Factory = IntObjectMap<ItemHolder.HolderFactory<T>>()
     private var mOnItemClickListener: OnItemClickListener<T>? = null
     private var mOnItemLongClickListener: OnItemLongClickListener<T>? = null
+    private val mLayoutValidator = LayoutValidator(mContext.resources)
     private var mEmptyItem: ItemWrapper<T>? = null
     private var mLoadingItem: ItemWrapper<T>? = null
 
     final override fun onBindViewHolder(holder: ItemHolder<T>, position: Int) {
         val itemData = getItem(position)
         itemData.data?.apply { holder.onBindData(this) }
-        holder.itemView.setOnClickListener {
-            if (null != itemData.getOnItemClickListener()) {
-                itemData.getOnItemClickListener()
-                    ?.onItemClick(holder.itemView, position, itemData.data)
-            } else {
-                mOnItemClickListener?.onItemClick(holder.itemView, position, itemData.data)
-            }
-        }
-        holder.itemView.setOnLongClickListener {
-            val res = if (null != itemData.getOnItemLongClickListener()) {
-                itemData.getOnItemLongClickListener()
-                    ?.onItemLongClick(holder.itemView, position, itemData.data)
-            } else {
-                mOnItemLongClickListener?.onItemLongClick(holder.itemView, position, itemData.data)
-            }
-            return@setOnLongClickListener res ?: false
-        }
-        itemData.mOnItemChildClickArray?.forEach { key, value ->
-            holder.itemView.findViewById<View>(key)?.let { childView ->
-                childView.setOnClickListener {
-                    value.onItemClick(childView, position, itemData.data)
-                }
-            }
-        }
-        itemData.mOnItemChildLongClickArray?.forEach { key, value ->
-            holder.itemView.findViewById<View>(key)?.let { childView ->
-                childView.setOnClickListener {
-                    value.onItemLongClick(childView, position, itemData.data)
-                }
-            }
-        }
+        holder.mClickDispatcher?.bindChildren(itemData)
     }
 
     final override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): ItemHolder<T> {
-        mType2Factory.forEach { key, factory ->
-            if (key == viewType) {
-                return factory.onCreateHolder(parent, viewType)
+        val factory = mType2Factory[viewType]
+            ?: throw RuntimeException("Not found the factory according to the $viewType.")
+        return factory.onCreateHolder(parent, viewType).apply {
+            mClickDispatcher = ItemClickDispatcher(this, this@BaseListAdapter) {
+                currentList.getOrNull(it)
             }
         }
-        throw RuntimeException("Not found the factory according to the $viewType.")
     }
 
     final override fun getItemViewType(position: Int): Int {
         val item = getItem(position)
-        try {
-            mContext.resources.getLayout(item.layoutId)
-        } catch (e: Resources.NotFoundException) {
-            throw IllegalArgumentException("Please check if the return layoutId is correct.")
-        }
-        return item.layoutId
+        return mLayoutValidator.validate(item.layoutId)
     }
 
     final override fun setOnItemClickListener(listener: OnItemClickListener<T>?) {
@@ -184,7 +150,7 @@ open class BaseListAdapter<T : Any>(
     fun setEmptyView(@LayoutRes id: Int?, scope: ItemWrapper<T>.() -> Unit = {}) {
         mEmptyItem?.apply { mType2Factory.remove(layoutId) }
         mEmptyItem = if (null != id) {
-            mType2Factory.put(id, EmptyHolderFactory(id))
+            mType2Factory.put(mLayoutValidator.validate(id), EmptyHolderFactory(id))
             ItemWrapper<T>(null, id).also(scope)
         } else {
             null
@@ -205,7 +171,7 @@ open class BaseListAdapter<T : Any>(
     fun setLoadingView(@LayoutRes id: Int?, scope: ItemWrapper<T>.() -> Unit = {}) {
         mLoadingItem?.apply { mType2Factory.remove(layoutId) }
         mLoadingItem = if (null != id) {
-            mType2Factory.put(id, EmptyHolderFactory(id))
+            mType2Factory.put(mLayoutValidator.validate(id), EmptyHolderFactory(id))
             ItemWrapper<T>(null, id).also(scope)
         } else {
             null
@@ -214,7 +180,7 @@ open class BaseListAdapter<T : Any>(
 
     init {
         factories.forEach { factory ->
-            mType2Factory.put(factory.layoutId, factory)
+            mType2Factory.put(mLayoutValidator.validate(factory.layoutId), factory)
         }
     }
 
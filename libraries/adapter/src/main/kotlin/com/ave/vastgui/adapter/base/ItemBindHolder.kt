@@ -38,6 +38,9 @@ import com.ave.vastgui.adapter.BaseBindPagingAdapter
 open class ItemBindHolder<T : Any>(protected var binding: ViewDataBinding) :
     RecyclerView.ViewHolder(binding.root) {
 
+    /** Installed by the adapter when the holder is created. */
+    internal var mClickDispatcher: ItemClickDispatcher<T>? = null
+
     /** @since 1.1.1 */
     open fun onBindData(variableId: Int, item: T) {
         binding.setVariable(variableId, item)
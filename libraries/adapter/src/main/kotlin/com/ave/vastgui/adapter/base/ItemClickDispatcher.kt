@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ave.vastgui.adapter.base
+
+import android.view.View
+import androidx.annotation.IdRes
+import androidx.recyclerview.widget.RecyclerView
+import com.ave.vastgui.core.collections.IntObjectMap
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/17
+// Documentation: https://ave.entropy2020.cn/documents/adapter/
+
+/**
+ * The click and long click listener of a [RecyclerView.ViewHolder] and the
+ * child views of it.
+ *
+ * It is created once when the holder is created, so binding an item does
+ * not allocate listeners. The events are dispatched to the item at the
+ * current [RecyclerView.ViewHolder.getBindingAdapterPosition] instead of
+ * the position when the item was bound.
+ *
+ * @param itemAt Returns the item at the position, `null` if not found.
+ * @since 1.3.11
+ */
+internal class ItemClickDispatcher<T : Any>(
+    private val holder: RecyclerView.ViewHolder,
+    private val adapter: ItemClickListener<T>,
+    private val itemAt: (Int) -> ItemWrapper<T>?
+) : View.OnClickListener, View.OnLongClickListener {
+
+    /**
+     * The child views found in the holder. The ids that are not found are
+     * not cached.
+     */
+    private val mChildViews = IntObjectMap<View>(2)
+
+    init {
+        holder.itemView.setOnClickListener(this)
+        holder.itemView.setOnLongClickListener(this)
+    }
+
+    /**
+     * Installs this as the listener of the child views that [item] has
+     * registered.
+     *
+     * @since 1.3.11
+     */
+    fun bindChildren(item: ItemWrapper<T>) {
+        item.mOnItemChildClickArray?.forEach { id, _ ->
+            findChildView(id)?.setOnClickListener(this)
+        }
+        item.mOnItemChildLongClickArray?.forEach { id, _ ->
+            findChildView(id)?.setOnLongClickListener(this)
+        }
+    }
+
+    override fun onClick(view: View) {
+        val position = holder.bindingAdapterPosition
+        if (RecyclerView.NO_POSITION == position) return
+        val item = itemAt(position) ?: return
+        if (view === holder.itemView) {
+            (item.getOnItemClickListener() ?: adapter.getOnItemClickListener())
+                ?.onItemClick(view, position, item.data)
+        } else {
+            item.mOnItemChildClickArray?.get(view.id)?.onItemClick(view, position, item.data)
+        }
+    }
+
+    override fun onLongClick(view: View): Boolean {
+        val position = holder.bindingAdapterPosition
+        if (RecyclerView.NO_POSITION == position) return false
+        val item = itemAt(position) ?: return false
+        val res = if (view === holder.itemView) {
+            (item.getOnItemLongClickListener() ?: adapter.getOnItemLongClickListener())
+                ?.onItemLongClick(view, position, item.data)
+        } else {
+            item.mOnItemChildLongClickArray?.get(view.id)
+                ?.onItemLongClick(view, position, item.data)
+        }
+        return res ?: false
+    }
+
+    private fun findChildView(@IdRes id: Int): View? =
+        mChildViews[id] ?: holder.itemView.findViewById<View>(id)?.also { mChildViews[id] = it }
+
+}
@@ -29,6 +29,9 @@ import androidx.recyclerview.widget.RecyclerView
 /** @since 1.1.1 */
 open class ItemHolder<T : Any>(itemView: View) : RecyclerView.ViewHolder(itemView) {
 
+    /** Installed by the adapter when the holder is created. */
+    internal var mClickDispatcher: ItemClickDispatcher<T>? = null
+
     /**
      * If the current [ItemHolder] represents an empty view, this method will
      * not be called.
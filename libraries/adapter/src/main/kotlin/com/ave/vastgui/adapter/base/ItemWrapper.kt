@@ -16,7 +16,6 @@
 
 package com.ave.vastgui.adapter.base
 
-import android.util.SparseArray
 import androidx.annotation.IdRes
 import androidx.annotation.LayoutRes
 import androidx.recyclerview.widget.RecyclerView
@@ -24,6 +23,7 @@ import com.ave.vastgui.adapter.listener.OnItemChildClickListener
 import com.ave.vastgui.adapter.listener.OnItemChildLongClickListener
 import com.ave.vastgui.adapter.listener.OnItemClickListener
 import com.ave.vastgui.adapter.listener.OnItemLongClickListener
+import com.ave.vastgui.core.collections.IntObjectMap
 
 // Author: Vast Gui
 // Email: guihy2019@gmail.com
@@ -45,8 +45,8 @@ class ItemWrapper<T : Any> @JvmOverloads constructor(
     private var longClickListener: OnItemLongClickListener<T>? = null
 ) : ItemType, ItemClickListener<T> {
 
-    internal var mOnItemChildClickArray: SparseArray<OnItemChildClickListener<T>>? = null
-    internal var mOnItemChildLongClickArray: SparseArray<OnItemChildLongClickListener<T>>? = null
+    internal var mOnItemChildClickArray: IntObjectMap<OnItemChildClickListener<T>>? = null
+    internal var mOnItemChildLongClickArray: IntObjectMap<OnItemChildLongClickListener<T>>? = null
 
     override fun setOnItemClickListener(listener: OnItemClickListener<T>?) {
         clickListener = listener
@@ -72,7 +72,7 @@ class ItemWrapper<T : Any> @JvmOverloads constructor(
      */
     fun addOnItemChildClickListener(@IdRes id: Int, listener: OnItemChildClickListener<T>) = apply {
         mOnItemChildClickArray =
-            (mOnItemChildClickArray ?: SparseArray<OnItemChildClickListener<T>>(2)).apply {
+            (mOnItemChildClickArray ?: IntObjectMap<OnItemChildClickListener<T>>(2)).apply {
                 put(id, listener)
             }
     }
@@ -97,7 +97,7 @@ class ItemWrapper<T : Any> @JvmOverloads constructor(
         apply {
             mOnItemChildLongClickArray =
                 (mOnItemChildLongClickArray
-                    ?: SparseArray<OnItemChildLongClickListener<T>>(2)).apply {
+                    ?: IntObjectMap<OnItemChildLongClickListener<T>>(2)).apply {
                     put(id, listener)
                 }
         }
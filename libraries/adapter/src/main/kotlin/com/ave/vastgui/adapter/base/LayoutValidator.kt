@@ -0,0 +1,59 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ave.vastgui.adapter.base
+
+import android.content.res.Resources
+import androidx.annotation.LayoutRes
+import com.ave.vastgui.core.collections.IntIntMap
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/16
+// Documentation: https://ave.entropy2020.cn/documents/adapter/
+
+/**
+ * Checks that a layout id can be found in [resources]. Each id is only
+ * opened once, `getItemViewType` is called for every position while
+ * scrolling and opening a xml parser there is expensive.
+ *
+ * Like the adapters, it is only used on the main thread.
+ *
+ * @since 1.3.11
+ */
+internal class LayoutValidator(private val resources: Resources) {
+
+    /** The layout ids that have been validated, the values are unused. */
+    private val mValidated = IntIntMap()
+
+    /**
+     * Returns [id] if it is a layout of [resources].
+     *
+     * @throws IllegalArgumentException If [id] is not a layout.
+     * @since 1.3.11
+     */
+    fun validate(@LayoutRes id: Int): Int {
+        if (mValidated.containsKey(id)) return id
+        try {
+            resources.getLayout(id).close()
+        } catch (e: Resources.NotFoundException) {
+            throw IllegalArgumentException("Please check if the return layoutId is correct.")
+        }
+        mValidated[id] = id
+        return id
+    }
+
+}
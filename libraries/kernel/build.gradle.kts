@@ -46,6 +46,7 @@ sourceSets["main"].java.srcDir("src/main/kotlin")
 
 dependencies {
     implementation(libs.kotlin.reflect)
+    testImplementation(libs.junit)
 }
 
 extra["PUBLISH_ARTIFACT_ID"] = "VastCore"
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ave.vastgui.core.collections
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/15
+// Documentation: https://ave.entropy2020.cn/documents/core/collections/map/
+
+/**
+ * A set of the integers in `0..63` kept in the bits of a [Long], like
+ * `java.util.EnumSet` does for the ordinals of small enums. It suits the
+ * priorities of log levels, for example.
+ *
+ * ```kotlin
+ * val levels = BitMask()
+ * levels.add(LogLevel.INFO.priority)
+ * LogLevel.INFO.priority in levels // true
+ * ```
+ *
+ * **Notes: It is not thread-safe, publish it safely after building it.**
+ *
+ * @property bits The bit `i` is set if `i` is in the set.
+ * @since 1.3.11
+ */
+class BitMask @JvmOverloads constructor(bits: Long = 0L) {
+
+    var bits: Long = bits
+        private set
+
+    /** The number of integers in the set. */
+    val size: Int
+        get() = java.lang.Long.bitCount(bits)
+
+    fun isEmpty() = 0L == bits
+
+    operator fun contains(index: Int): Boolean =
+        index in 0 until MAX_BITS && 0L != (bits and (1L shl index))
+
+    fun add(index: Int) {
+        checkIndex(index)
+        bits = bits or (1L shl index)
+    }
+
+    fun remove(index: Int) {
+        checkIndex(index)
+        bits = bits and (1L shl index).inv()
+    }
+
+    fun clear() {
+        bits = 0L
+    }
+
+    override fun equals(other: Any?) = other is BitMask && other.bits == bits
+
+    override fun hashCode() = bits.hashCode()
+
+    override fun toString(): String = (0 until MAX_BITS).filter { it in this }.toString()
+
+    private fun checkIndex(index: Int) {
+        require(index in 0 until MAX_BITS) { "The index($index) should be in 0..${MAX_BITS - 1}." }
+    }
+
+    private companion object {
+        const val MAX_BITS = 64
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ave.vastgui.core.collections
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/15
+// Documentation: https://ave.entropy2020.cn/documents/core/collections/map/
+
+/**
+ * Default number of entries a primitive map holds without resizing.
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_MAP_CAPACITY = 8
+
+/** The tables resize when more than 3/4 of the slots are used. */
+internal const val MAX_LOAD_FACTOR = 0.75f
+
+/** The smallest power of two table holding [capacity] entries. */
+internal fun tableSizeFor(capacity: Int): Int {
+    require(capacity >= 0) { "The capacity($capacity) should not be negative." }
+    var size = 2
+    while (size * MAX_LOAD_FACTOR < capacity) size = size shl 1
+    return size
+}
+
+/** Spread the bits of [key] as the low bits are used as the index. */
+internal fun hashOf(key: Int): Int {
+    val hash = key * -0x61c88647
+    return hash xor (hash ushr 16)
+}
+
+/** @since 1.3.11 */
+internal fun hashOf(key: Long): Int = hashOf((key xor (key ushr 32)).toInt())
+
+/**
+ * Returns `true` if the slot [ideal] is not in the cyclic range
+ * `(hole, next]`, which means the entry at `next` can be moved to `hole`.
+ */
+internal fun isOutside(ideal: Int, hole: Int, next: Int): Boolean =
+    if (hole <= next) ideal <= hole || ideal > next
+    else ideal in (next + 1)..hole
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ave.vastgui.core.collections
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/15
+// Documentation: https://ave.entropy2020.cn/documents/core/collections/map/
+
+/**
+ * A map from [Int] to [Int] without boxing, see [IntObjectMap].
+ *
+ * ```kotlin
+ * val counts = IntIntMap()
+ * counts[404] = counts.getOrDefault(404, 0) + 1
+ * ```
+ *
+ * **Notes: It is not thread-safe.**
+ *
+ * @param initialCapacity The number of entries it holds without resizing.
+ * @since 1.3.11
+ */
+class IntIntMap @JvmOverloads constructor(initialCapacity: Int = DEFAULT_MAP_CAPACITY) {
+
+    @PublishedApi
+    internal var keys: IntArray
+
+    @PublishedApi
+    internal var values: IntArray
+
+    /** `false` means the slot is empty. */
+    @PublishedApi
+    internal var used: BooleanArray
+
+    private var mask: Int
+
+    /** The number of entries. */
+    var size: Int = 0
+        private set
+
+    init {
+        val capacity = tableSizeFor(initialCapacity)
+        keys = IntArray(capacity)
+        values = IntArray(capacity)
+        used = BooleanArray(capacity)
+        mask = capacity - 1
+    }
+
+    fun isEmpty() = 0 == size
+
+    fun isNotEmpty() = 0 != size
+
+    fun containsKey(key: Int) = indexOf(key) >= 0
+
+    /** Returns the value of [key], or `0` if there is no [key]. */
+    operator fun get(key: Int): Int = getOrDefault(key, 0)
+
+    fun getOrDefault(key: Int, defaultValue: Int): Int {
+        val index = indexOf(key)
+        return if (index >= 0) values[index] else defaultValue
+    }
+
+    operator fun set(key: Int, value: Int) {
+        var index = hashOf(key) and mask
+        while (used[index]) {
+            if (keys[index] == key) {
+                values[index] = value
+                return
+            }
+            index = (index + 1) and mask
+        }
+        keys[index] = key
+        values[index] = value
+        used[index] = true
+        if (++size > (mask + 1) * MAX_LOAD_FACTOR) resize()
+    }
+
+    /** Returns `true` if [key] is removed. */
+    fun remove(key: Int): Boolean {
+        val index = indexOf(key)
+        if (index < 0) return false
+        shiftBack(index)
+        size--
+        return true
+    }
+
+    fun clear() {
+        used.fill(false)
+        size = 0
+    }
+
+    inline fun forEach(action: (key: Int, value: Int) -> Unit) {
+        val keys = keys
+        val values = values
+        val used = used
+        for (index in used.indices) {
+            if (used[index]) action(keys[index], values[index])
+        }
+    }
+
+    /** Returns the slot of [key], or `-1` if there is no [key]. */
+    private fun indexOf(key: Int): Int {
+        var index = hashOf(key) and mask
+        while (used[index]) {
+            if (keys[index] == key) return index
+            index = (index + 1) and mask
+        }
+        return -1
+    }
+
+    /** Move the entries after the removed [index] back to keep them reachable. */
+    private fun shiftBack(index: Int) {
+        var hole = index
+        var next = (hole + 1) and mask
+        while (used[next]) {
+            val ideal = hashOf(keys[next]) and mask
+            if (isOutside(ideal, hole, next)) {
+                keys[hole] = keys[next]
+                values[hole] = values[next]
+                hole = next
+            }
+            next = (next + 1) and mask
+        }
+        used[hole] = false
+    }
+
+    private fun resize() {
+        val oldKeys = keys
+        val oldValues = values
+        val oldUsed = used
+        val capacity = oldUsed.size * 2
+        keys = IntArray(capacity)
+        values = IntArray(capacity)
+        used = BooleanArray(capacity)
+        mask = capacity - 1
+        for (i in oldUsed.indices) {
+            if (!oldUsed[i]) continue
+            var index = hashOf(oldKeys[i]) and mask
+            while (used[index]) index = (index + 1) and mask
+            keys[index] = oldKeys[i]
+            values[index] = oldValues[i]
+            used[index] = true
+        }
+    }
+
+    override fun toString(): String = buildString {
+        append('{')
+        forEach { key, value ->
+            if (length > 1) append(", ")
+            append(key).append('=').append(value)
+        }
+        append('}')
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ave.vastgui.core.collections
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/15
+// Documentation: https://ave.entropy2020.cn/documents/core/collections/map/
+
+/**
+ * A map from [Int] to [V] without boxing the keys, the entries are kept
+ * in arrays by open addressing with linear probing. Unlike
+ * `android.util.SparseArray`, it does not depend on Android and [get] does
+ * not search by binary search.
+ *
+ * ```kotlin
+ * val map = IntObjectMap<String>()
+ * map[1] = "one"
+ * map[1] // "one"
+ * map.forEach { key, value -> println("$key $value") }
+ * ```
+ *
+ * **Notes: It is not thread-safe.**
+ *
+ * @param initialCapacity The number of entries it holds without resizing.
+ * @since 1.3.11
+ */
+class IntObjectMap<V : Any> @JvmOverloads constructor(initialCapacity: Int = DEFAULT_MAP_CAPACITY) {
+
+    @PublishedApi
+    internal var keys: IntArray
+
+    /** `null` means the slot is empty. */
+    @PublishedApi
+    internal var values: Array<Any?>
+
+    private var mask: Int
+
+    /** The number of entries. */
+    var size: Int = 0
+        private set
+
+    init {
+        val capacity = tableSizeFor(initialCapacity)
+        keys = IntArray(capacity)
+        values = arrayOfNulls(capacity)
+        mask = capacity - 1
+    }
+
+    fun isEmpty() = 0 == size
+
+    fun isNotEmpty() = 0 != size
+
+    fun containsKey(key: Int) = null != get(key)
+
+    @Suppress("UNCHECKED_CAST")
+    operator fun get(key: Int): V? {
+        var index = hashOf(key) and mask
+        while (true) {
+            val value = values[index] ?: return null
+            if (keys[index] == key) return value as V
+            index = (index + 1) and mask
+        }
+    }
+
+    fun getOrDefault(key: Int, defaultValue: V): V = get(key) ?: defaultValue
+
+    operator fun set(key: Int, value: V) {
+        put(key, value)
+    }
+
+    /** Returns the previous value of [key]. */
+    @Suppress("UNCHECKED_CAST")
+    fun put(key: Int, value: V): V? {
+        var index = hashOf(key) and mask
+        while (true) {
+            val old = values[index]
+            if (null == old) break
+            if (keys[index] == key) {
+                values[index] = value
+                return old as V
+            }
+            index = (index + 1) and mask
+        }
+        keys[index] = key
+        values[index] = value
+        if (++size > (mask + 1) * MAX_LOAD_FACTOR) resize()
+        return null
+    }
+
+    /** Returns the removed value of [key]. */
+    @Suppress("UNCHECKED_CAST")
+    fun remove(key: Int): V? {
+        var index = hashOf(key) and mask
+        while (true) {
+            val value = values[index] ?: return null
+            if (keys[index] == key) {
+                shiftBack(index)
+                size--
+                return value as V
+            }
+            index = (index + 1) and mask
+        }
+    }
+
+    fun clear() {
+        values.fill(null)
+        size = 0
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    inline fun forEach(action: (key: Int, value: V) -> Unit) {
+        val keys = keys
+        val values = values
+        for (index in values.indices) {
+            val value = values[index] ?: continue
+            action(keys[index], value as V)
+        }
+    }
+
+    /** Move the entries after the removed [index] back to keep them reachable. */
+    private fun shiftBack(index: Int) {
+        var hole = index
+        var next = (hole + 1) and mask
+        while (true) {
+            val value = values[next] ?: break
+            val ideal = hashOf(keys[next]) and mask
+            if (isOutside(ideal, hole, next)) {
+                keys[hole] = keys[next]
+                values[hole] = value
+                hole = next
+            }
+            next = (next + 1) and mask
+        }
+        values[hole] = null
+    }
+
+    private fun resize() {
+        val oldKeys = keys
+        val oldValues = values
+        val capacity = oldValues.size * 2
+        keys = IntArray(capacity)
+        values = arrayOfNulls(capacity)
+        mask = capacity - 1
+        for (i in oldValues.indices) {
+            val value = oldValues[i] ?: continue
+            var index = hashOf(oldKeys[i]) and mask
+            while (null != values[index]) index = (index + 1) and mask
+            keys[index] = oldKeys[i]
+            values[index] = value
+        }
+    }
+
+    override fun toString(): String = buildString {
+        append('{')
+        forEach { key, value ->
+            if (length > 1) append(", ")
+            append(key).append('=').append(value)
+        }
+        append('}')
+    }
+
+}
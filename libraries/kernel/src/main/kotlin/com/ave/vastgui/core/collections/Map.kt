@@ -18,7 +18,14 @@
 
 package com.ave.vastgui.core.collections
 
+import java.lang.reflect.AccessibleObject
+import java.lang.reflect.Field
+import java.lang.reflect.Method
+import java.util.concurrent.ConcurrentHashMap
+import kotlin.reflect.KProperty1
 import kotlin.reflect.full.memberProperties
+import kotlin.reflect.jvm.javaField
+import kotlin.reflect.jvm.javaGetter
 
 // Author: Vast Gui
 // Email: guihy2019@gmail.com
@@ -31,8 +38,64 @@ import kotlin.reflect.full.memberProperties
  *
  * @since 0.0.4
  */
-fun Any.toMap() = this::class
-    .memberProperties
-    .associate {
-        it.name to it.call(this)
-    }
\ No newline at end of file
+fun Any.toMap(): Map<String, Any?> = toMap(LinkedHashMap())
+
+/**
+ * Put the parameters of the object into [into], where key is the parameter
+ * name and value is the parameter value. Reuse [into] to avoid creating a
+ * map for each call.
+ *
+ * The getters of a class are looked up by reflection once and cached as
+ * [Method] or [Field].
+ *
+ * @since 1.3.11
+ */
+fun <M : MutableMap<in String, in Any?>> Any.toMap(into: M): M {
+    for (accessor in accessorsOf(this::class.java)) {
+        into[accessor.name] = accessor.get(this)
+    }
+    return into
+}
+
+/**
+ * The accessors of each class. `ClassValue` is not available on Android
+ * before API 34, so a map is used.
+ */
+private val accessorCache = ConcurrentHashMap<Class<*>, Array<PropertyAccessor>>()
+
+private fun accessorsOf(clazz: Class<*>): Array<PropertyAccessor> =
+    accessorCache[clazz] ?: clazz.kotlin.memberProperties
+        .map { PropertyAccessor(it) }
+        .toTypedArray()
+        .let { accessorCache.putIfAbsent(clazz, it) ?: it }
+
+/**
+ * Getter of [property], it uses [KProperty1.call] if no getter or field is
+ * found. `MethodHandle` is not used since it is not available on Android
+ * before API 26.
+ */
+private class PropertyAccessor(private val property: KProperty1<out Any, *>) {
+
+    val name: String = property.name
+
+    private val getter: Method? = property.javaGetter?.takeIf { it.makeAccessible() }
+
+    private val field: Field? =
+        if (null == getter) property.javaField?.takeIf { it.makeAccessible() } else null
+
+    fun get(receiver: Any): Any? = when {
+        null != getter -> getter.invoke(receiver)
+        null != field -> field.get(receiver)
+        else -> property.call(receiver)
+    }
+
+}
+
+/** Returns `false` if the member can not be made accessible. */
+private fun AccessibleObject.makeAccessible(): Boolean = try {
+    isAccessible = true
+    true
+} catch (_: RuntimeException) {
+    // For example, SecurityException or InaccessibleObjectException.
+    false
+}
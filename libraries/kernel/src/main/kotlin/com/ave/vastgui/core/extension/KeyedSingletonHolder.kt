@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ave.vastgui.core.extension
+
+import java.util.concurrent.ConcurrentHashMap
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/14
+// Description: Use KeyedSingletonHolder to build a singleton for each parameter.
+// Documentation: https://ave.entropy2020.cn/documents/core/extension/singleton-holder/
+
+/**
+ * Use KeyedSingletonHolder to build a singleton for each parameter. Unlike
+ * [SingletonHolder], [getInstance] returns a different instance for a
+ * different [A], and the same instance for the equal ones.
+ *
+ * ```kotlin
+ * class Converter private constructor(isPretty: Boolean) {
+ *
+ *     ... // do other things.
+ *
+ *     companion object : KeyedSingletonHolder<Converter, Boolean>(::Converter)
+ *
+ * }
+ *
+ * // The pretty one and the compact one.
+ * val pretty = Converter.getInstance(true)
+ * val compact = Converter.getInstance(false)
+ * ```
+ *
+ * Getting a created instance does not take a lock, [creator] is called
+ * once for each parameter under a lock shared by a part of the
+ * parameters.
+ *
+ * @param T the singleton class.
+ * @param A the parameters class, the parameters are compared by
+ * [Any.equals] and [Any.hashCode]. The instances are never released, so
+ * a class that does not implement them should be passed as a reused
+ * instance, otherwise each call creates and keeps a new singleton.
+ * @property creator the constructor of the T.
+ * @since 1.3.11
+ */
+open class KeyedSingletonHolder<out T : Any, in A : Any>(private val creator: A.() -> T) {
+
+    private val instances = ConcurrentHashMap<Any, Any>()
+
+    private val locks = Array(LOCK_COUNT) { Any() }
+
+    @Suppress("UNCHECKED_CAST")
+    fun getInstance(arg: A): T {
+        instances[arg]?.let { return it as T }
+        synchronized(locks[arg.hashCode() and (LOCK_COUNT - 1)]) {
+            instances[arg]?.let { return it as T }
+            return creator(arg).also { instances[arg] = it }
+        }
+    }
+
+    private companion object {
+        /** It should be a power of two. */
+        const val LOCK_COUNT = 16
+    }
+
+}
@@ -41,6 +41,10 @@ package com.ave.vastgui.core.extension
  * }
  * ```
  *
+ * **Notes: The first instance is returned whatever [getInstance] is called
+ * with, use [KeyedSingletonHolder] if the instance depends on the
+ * parameter.**
+ *
  * @param T the singleton class.
  * @param A the parameters class.
  * @property creator the constructor of the T.
@@ -48,6 +52,7 @@ package com.ave.vastgui.core.extension
  */
 open class SingletonHolder<out T, in A>(private val creator: A.() -> T) {
 
+    @Volatile
     private var instance: T? = null
 
     fun getInstance(arg: A): T =
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ave.vastgui.core.collections
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import kotlin.random.Random
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/15
+
+class IntIntMapTest {
+
+    @Test
+    fun collisionUsage() {
+        val map = IntIntMap()
+        val keys = keysAt(3, 5, map.keys.size - 1)
+        keys.forEach { map[it] = it + 1 }
+        assertEquals(5, map.size)
+        keys.forEach { assertEquals(it + 1, map[it]) }
+        map[keys[2]] = -1
+        assertEquals(-1, map[keys[2]])
+        assertEquals(5, map.size)
+    }
+
+    @Test
+    fun wrapAroundRemoval() {
+        val map = IntIntMap()
+        val mask = map.keys.size - 1
+        // The entries of the last slot wrap around to the first slots.
+        val last = keysAt(mask, 3, mask)
+        val first = keysAt(0, 1, mask)
+        (last + first).forEach { map[it] = it + 1 }
+        assertTrue(map.remove(last[0]))
+        assertFalse(map.containsKey(last[0]))
+        (last.drop(1) + first).forEach { assertEquals(it + 1, map[it]) }
+        assertTrue(map.remove(last[1]))
+        (last.drop(2) + first).forEach { assertEquals(it + 1, map[it]) }
+        assertFalse(map.remove(last[1]))
+        assertEquals(2, map.size)
+    }
+
+    @Test
+    fun resizeUsage() {
+        val map = IntIntMap(0)
+        val capacity = map.keys.size
+        repeat(1000) { map[it * 31] = it }
+        assertTrue(map.keys.size > capacity)
+        assertEquals(1000, map.size)
+        repeat(1000) { assertEquals(it, map[it * 31]) }
+    }
+
+    @Test
+    fun clearUsage() {
+        val map = IntIntMap()
+        repeat(20) { map[it] = it + 1 }
+        map.clear()
+        assertTrue(map.isEmpty())
+        repeat(20) { assertFalse(map.containsKey(it)) }
+        assertEquals(-1, map.getOrDefault(1, -1))
+        // A key mapped to 0 is kept apart from a missing key.
+        map[1] = 0
+        assertTrue(map.containsKey(1))
+        assertEquals("{1=0}", map.toString())
+    }
+
+    @Test
+    fun randomUsage() {
+        val map = IntIntMap()
+        val expected = HashMap<Int, Int>()
+        val random = Random(42)
+        repeat(100_000) {
+            val key = random.nextInt(512)
+            if (random.nextBoolean()) {
+                expected[key] = it
+                map[key] = it
+            } else {
+                assertEquals(null != expected.remove(key), map.remove(key))
+            }
+        }
+        assertEquals(expected.size, map.size)
+        val actual = HashMap<Int, Int>()
+        map.forEach { key, value -> actual[key] = value }
+        assertEquals(expected, actual)
+    }
+
+    /** Find [count] keys whose ideal slot is [slot]. */
+    private fun keysAt(slot: Int, count: Int, mask: Int): List<Int> =
+        generateSequence(0) { it + 1 }.filter { (hashOf(it) and mask) == slot }.take(count).toList()
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ave.vastgui.core.collections
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import kotlin.random.Random
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/15
+
+class LongObjectMapTest {
+
+    @Test
+    fun collisionUsage() {
+        val map = LongObjectMap<String>()
+        val keys = keysAt(3, 5, map.keys.size - 1)
+        keys.forEach { map[it] = "v$it" }
+        assertEquals(5, map.size)
+        keys.forEach { assertEquals("v$it", map[it]) }
+        assertEquals("v${keys[2]}", map.put(keys[2], "new"))
+        assertEquals("new", map[keys[2]])
+        assertEquals(5, map.size)
+    }
+
+    @Test
+    fun wrapAroundRemoval() {
+        val map = LongObjectMap<String>()
+        val mask = map.keys.size - 1
+        // The entries of the last slot wrap around to the first slots.
+        val last = keysAt(mask, 3, mask)
+        val first = keysAt(0, 1, mask)
+        (last + first).forEach { map[it] = "v$it" }
+        assertEquals("v${last[0]}", map.remove(last[0]))
+        assertNull(map[last[0]])
+        (last.drop(1) + first).forEach { assertEquals("v$it", map[it]) }
+        assertEquals("v${last[1]}", map.remove(last[1]))
+        (last.drop(2) + first).forEach { assertEquals("v$it", map[it]) }
+        assertNull(map.remove(last[1]))
+        assertEquals(2, map.size)
+    }
+
+    @Test
+    fun resizeUsage() {
+        val map = LongObjectMap<Int>(0)
+        val capacity = map.keys.size
+        // The high bits of the keys are used by the hash.
+        repeat(1000) { map[it.toLong() shl 32] = it }
+        assertTrue(map.keys.size > capacity)
+        assertEquals(1000, map.size)
+        repeat(1000) { assertEquals(it, map[it.toLong() shl 32]) }
+    }
+
+    @Test
+    fun clearUsage() {
+        val map = LongObjectMap<String>()
+        repeat(20) { map[it.toLong()] = "v$it" }
+        map.clear()
+        assertTrue(map.isEmpty())
+        repeat(20) { assertNull(map[it.toLong()]) }
+        map[1L] = "one"
+        assertEquals("{1=one}", map.toString())
+    }
+
+    @Test
+    fun randomUsage() {
+        val map = LongObjectMap<Int>()
+        val expected = HashMap<Long, Int>()
+        val random = Random(42)
+        repeat(100_000) {
+            val key = random.nextLong(512)
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, it), map.put(key, it))
+            } else {
+                assertEquals(expected.remove(key), map.remove(key))
+            }
+        }
+        assertEquals(expected.size, map.size)
+        val actual = HashMap<Long, Int>()
+        map.forEach { key, value -> actual[key] = value }
+        assertEquals(expected, actual)
+    }
+
+    /** Find [count] keys whose ideal slot is [slot]. */
+    private fun keysAt(slot: Int, count: Int, mask: Int): List<Long> =
+        generateSequence(0L) { it + 1 }.filter { (hashOf(it) and mask) == slot }.take(count).toList()
+
+}
@@ -26,6 +26,7 @@ import androidx.fragment.app.Fragment
 import androidx.fragment.app.FragmentActivity
 import androidx.fragment.app.FragmentManager
 import androidx.fragment.app.FragmentManager.FragmentLifecycleCallbacks
+import java.util.EnumSet
 import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.ConcurrentMap
 
@@ -42,18 +43,24 @@ import java.util.concurrent.ConcurrentMap
  *
  * @since 1.3.10
  */
-class LifecycleLogcat private constructor(private val observer: LifecycleCallback) :
+class LifecycleLogcat private constructor(
+    private val observer: LifecycleCallback?,
+    /** @since 1.3.11 */
+    private val tracer: LifecycleTracer? = null
+) :
     ActivityLifecycleCallbacks, FragmentLifecycleCallbacks() {
 
-    /** @since 1.3.10 */
-    private val eventOwnerMap: ConcurrentMap<Class<*>, Pair<String, Array<LogLifecycleEvent>>> =
-        ConcurrentHashMap()
+    /**
+     * [LogLifecycle] of each class, it is read once per class. The classes
+     * without it are cached as [NOT_ANNOTATED].
+     *
+     * @since 1.3.10
+     */
+    private val ownerCache: ConcurrentMap<Class<*>, Any> = ConcurrentHashMap()
 
     // region Activity lifecycle observer
     override fun onActivityCreated(activity: Activity, savedInstanceState: Bundle?) {
-        if (!activity.register()) return
-        val pair = activity.pair(LogLifecycleEvent.ON_CREATE) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_CREATE, savedInstanceState)
+        activity.dispatch(LogLifecycleEvent.ON_CREATE, savedInstanceState)
         if (activity is FragmentActivity) {
             activity.supportFragmentManager
                 .registerFragmentLifecycleCallbacks(this, true)
@@ -61,47 +68,37 @@ class LifecycleLogcat private constructor(private val observer: LifecycleCallbac
     }
 
     override fun onActivityStarted(activity: Activity) {
-        val pair = activity.pair(LogLifecycleEvent.ON_START) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_START, null)
+        activity.dispatch(LogLifecycleEvent.ON_START, null)
     }
 
     override fun onActivityResumed(activity: Activity) {
-        val pair = activity.pair(LogLifecycleEvent.ON_RESUME) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_RESUME, null)
+        activity.dispatch(LogLifecycleEvent.ON_RESUME, null)
     }
 
     override fun onActivityPaused(activity: Activity) {
-        val pair = activity.pair(LogLifecycleEvent.ON_PAUSE) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_PAUSE, null)
+        activity.dispatch(LogLifecycleEvent.ON_PAUSE, null)
     }
 
     override fun onActivityStopped(activity: Activity) {
-        val pair = activity.pair(LogLifecycleEvent.ON_STOP) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_STOP, null)
+        activity.dispatch(LogLifecycleEvent.ON_STOP, null)
     }
 
     override fun onActivitySaveInstanceState(activity: Activity, outState: Bundle) {
-        val pair = activity.pair(LogLifecycleEvent.ON_SAVE_INSTANCE_STATE) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_SAVE_INSTANCE_STATE, outState)
+        activity.dispatch(LogLifecycleEvent.ON_SAVE_INSTANCE_STATE, outState)
     }
 
     override fun onActivityDestroyed(activity: Activity) {
-        val pair = activity.pair(LogLifecycleEvent.ON_DESTROY) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_DESTROY, null)
-        activity.unregister()
+        activity.dispatch(LogLifecycleEvent.ON_DESTROY, null)
     }
     // endregion
 
     // region Fragment lifecycle observer
     override fun onFragmentPreAttached(fm: FragmentManager, f: Fragment, context: Context) {
-        if (!f.register()) return
-        val pair = f.pair(LogLifecycleEvent.ON_PRE_ATTACHED) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_PRE_ATTACHED, null)
+        f.dispatch(LogLifecycleEvent.ON_PRE_ATTACHED, null)
     }
 
     override fun onFragmentAttached(fm: FragmentManager, f: Fragment, context: Context) {
-        val pair = f.pair(LogLifecycleEvent.ON_ATTACH) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_ATTACH, null)
+        f.dispatch(LogLifecycleEvent.ON_ATTACH, null)
     }
 
     override fun onFragmentPreCreated(
@@ -109,13 +106,11 @@ class LifecycleLogcat private constructor(private val observer: LifecycleCallbac
         f: Fragment,
         savedInstanceState: Bundle?
     ) {
-        val pair = f.pair(LogLifecycleEvent.ON_PRE_CREATED) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_PRE_CREATED, null)
+        f.dispatch(LogLifecycleEvent.ON_PRE_CREATED, null)
     }
 
     override fun onFragmentCreated(fm: FragmentManager, f: Fragment, savedInstanceState: Bundle?) {
-        val pair = f.pair(LogLifecycleEvent.ON_CREATE) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_CREATE, null)
+        f.dispatch(LogLifecycleEvent.ON_CREATE, null)
     }
 
     @Deprecated("Deprecated in Java")
@@ -124,8 +119,7 @@ class LifecycleLogcat private constructor(private val observer: LifecycleCallbac
         f: Fragment,
         savedInstanceState: Bundle?
     ) {
-        val pair = f.pair(LogLifecycleEvent.ON_ACTIVITY_CREATED) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_ACTIVITY_CREATED, null)
+        f.dispatch(LogLifecycleEvent.ON_ACTIVITY_CREATED, null)
     }
 
     override fun onFragmentViewCreated(
@@ -134,77 +128,73 @@ class LifecycleLogcat private constructor(private val observer: LifecycleCallbac
         v: View,
         savedInstanceState: Bundle?
     ) {
-        val pair = f.pair(LogLifecycleEvent.ON_CREATE_VIEW) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_CREATE_VIEW, null)
+        f.dispatch(LogLifecycleEvent.ON_CREATE_VIEW, null)
     }
 
     override fun onFragmentStarted(fm: FragmentManager, f: Fragment) {
-        val pair = f.pair(LogLifecycleEvent.ON_START) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_START, null)
+        f.dispatch(LogLifecycleEvent.ON_START, null)
     }
 
     override fun onFragmentResumed(fm: FragmentManager, f: Fragment) {
-        val pair = f.pair(LogLifecycleEvent.ON_RESUME) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_RESUME, null)
+        f.dispatch(LogLifecycleEvent.ON_RESUME, null)
     }
 
     override fun onFragmentPaused(fm: FragmentManager, f: Fragment) {
-        val pair = f.pair(LogLifecycleEvent.ON_PAUSE) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_PAUSE, null)
+        f.dispatch(LogLifecycleEvent.ON_PAUSE, null)
     }
 
     override fun onFragmentStopped(fm: FragmentManager, f: Fragment) {
-        val pair = f.pair(LogLifecycleEvent.ON_STOP) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_STOP, null)
+        f.dispatch(LogLifecycleEvent.ON_STOP, null)
     }
 
     override fun onFragmentSaveInstanceState(fm: FragmentManager, f: Fragment, outState: Bundle) {
-        val pair = f.pair(LogLifecycleEvent.ON_SAVE_INSTANCE_STATE) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_SAVE_INSTANCE_STATE, null)
+        f.dispatch(LogLifecycleEvent.ON_SAVE_INSTANCE_STATE, null)
     }
 
     override fun onFragmentDestroyed(fm: FragmentManager, f: Fragment) {
-        val pair = f.pair(LogLifecycleEvent.ON_DESTROY) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_DESTROY, null)
+        f.dispatch(LogLifecycleEvent.ON_DESTROY, null)
     }
 
     override fun onFragmentViewDestroyed(fm: FragmentManager, f: Fragment) {
-        val pair = f.pair(LogLifecycleEvent.ON_DESTROY_VIEW) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_DESTROY_VIEW, null)
+        f.dispatch(LogLifecycleEvent.ON_DESTROY_VIEW, null)
     }
 
     override fun onFragmentDetached(fm: FragmentManager, f: Fragment) {
-        val pair = f.pair(LogLifecycleEvent.ON_DETACH) ?: return
-        observer.observeEvent(pair.first, LogLifecycleEvent.ON_DETACH, null)
-        f.unregister()
+        f.dispatch(LogLifecycleEvent.ON_DETACH, null)
     }
     // endregion
 
-    /** @since 1.3.10 */
-    private fun Any.getKey(default: String = "") = default.ifBlank { this::class.java.simpleName }
-
-    /** @since 1.3.10 */
-    private fun Any.pair(event: LogLifecycleEvent): Pair<String, Array<LogLifecycleEvent>>? {
-        val pair = eventOwnerMap[this::class.java] ?: return null
-        return pair.takeIf { it.second.contains(event) }
+    /**
+     * Returns the owner of the class of this, or `null` if the class is not
+     * annotated with [LogLifecycle].
+     *
+     * @since 1.3.11
+     */
+    private fun Any.owner(): Owner? {
+        val clazz = this::class.java
+        val owner = ownerCache[clazz] ?: ownerCache.getOrPut(clazz) {
+            val annotation = clazz.getAnnotation(LogLifecycle::class.java)
+            if (null == annotation) NOT_ANNOTATED else Owner(
+                annotation.name.ifBlank { clazz.simpleName },
+                EnumSet.noneOf(LogLifecycleEvent::class.java).apply { addAll(annotation.obverseEvent) }
+            )
+        }
+        return owner as? Owner
     }
 
-    /** @since 1.3.10 */
-    private fun Any.register(): Boolean {
-        val annotation: LogLifecycle =
-            this::class.java.getAnnotation(LogLifecycle::class.java) ?: return false
-        val name = getKey(annotation.name)
-        eventOwnerMap.putIfAbsent(this::class.java, name to annotation.obverseEvent)
-        return true
+    /** @since 1.3.11 */
+    private fun Any.dispatch(event: LogLifecycleEvent, bundle: Bundle?) {
+        val owner = owner() ?: return
+        tracer?.trace(this, owner.name, event)
+        if (event in owner.events) observer?.observeEvent(owner.name, event, bundle)
     }
 
-    /** @since 1.3.10 */
-    private fun Any.unregister() {
-        val annotation: LogLifecycle =
-            this::class.java.getAnnotation(LogLifecycle::class.java) ?: return
-        val name = getKey(annotation.name)
-        eventOwnerMap.remove(this::class.java, name to annotation.obverseEvent)
-    }
+    /**
+     * The name and the observed events of an annotated class.
+     *
+     * @since 1.3.11
+     */
+    private class Owner(val name: String, val events: Set<LogLifecycleEvent>)
 
     /** @since 1.3.10 */
     @FunctionalInterface
@@ -213,6 +203,9 @@ class LifecycleLogcat private constructor(private val observer: LifecycleCallbac
     }
 
     companion object {
+        /** @since 1.3.11 */
+        private val NOT_ANNOTATED = Any()
+
         /**
          * Register a lifecycle logcat.
          *
@@ -232,5 +225,20 @@ class LifecycleLogcat private constructor(private val observer: LifecycleCallbac
         fun Application.registerLifecycleLogcat(cb: LifecycleCallback) {
             registerActivityLifecycleCallbacks(LifecycleLogcat(cb))
         }
+
+        /**
+         * Register a lifecycle logcat timing the transitions by [tracer],
+         * see [LifecycleTracer].
+         *
+         * @param cb Also observes the events if it is not `null`.
+         * @since 1.3.11
+         */
+        @JvmOverloads
+        fun Application.registerLifecycleTracer(
+            tracer: LifecycleTracer,
+            cb: LifecycleCallback? = null
+        ) {
+            registerActivityLifecycleCallbacks(LifecycleLogcat(cb, tracer))
+        }
     }
 }
\ No newline at end of file
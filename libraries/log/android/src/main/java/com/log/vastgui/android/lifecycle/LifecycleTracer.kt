@@ -0,0 +1,186 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.android.lifecycle
+
+import android.app.Activity
+import android.os.SystemClock
+import androidx.fragment.app.Fragment
+import java.util.Locale
+import java.util.WeakHashMap
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/13
+// Documentation: https://ave.entropy2020.cn/documents/log/log-android/lifecycle/usgae/
+
+/**
+ * Default number of the latest durations kept for the percentiles of a
+ * screen.
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_LIFECYCLE_SAMPLES = 128
+
+/**
+ * Lifecycle transitions timed by [LifecycleTracer].
+ *
+ * @since 1.3.11
+ */
+enum class LifecycleTransition(val from: LogLifecycleEvent, val to: LogLifecycleEvent) {
+    /** onCreate to onResume of an [Activity] or a [Fragment]. */
+    CREATE_TO_RESUME(LogLifecycleEvent.ON_CREATE, LogLifecycleEvent.ON_RESUME),
+
+    /** onAttach to onViewCreated of a [Fragment]. */
+    ATTACH_TO_VIEW_CREATED(LogLifecycleEvent.ON_ATTACH, LogLifecycleEvent.ON_CREATE_VIEW),
+
+    /** onAttach to onResume of a [Fragment]. */
+    ATTACH_TO_RESUME(LogLifecycleEvent.ON_ATTACH, LogLifecycleEvent.ON_RESUME)
+}
+
+/**
+ * Durations of a [LifecycleTransition] of a screen, the percentiles are
+ * computed from the latest durations.
+ *
+ * @property screen The name of the screen, see [LogLifecycle.name].
+ * @property count The number of the durations recorded.
+ * @since 1.3.11
+ */
+class TransitionSnapshot internal constructor(
+    val screen: String,
+    val transition: LifecycleTransition,
+    val count: Long,
+    val p50Millis: Double,
+    val p90Millis: Double,
+    val p99Millis: Double,
+    val maxMillis: Double
+) {
+    override fun toString(): String = String.format(
+        Locale.ENGLISH, "%s %s count=%d p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms",
+        screen, transition, count, p50Millis, p90Millis, p99Millis, maxMillis
+    )
+}
+
+/**
+ * Times the [LifecycleTransition] of the [Activity] and [Fragment]
+ * annotated with [LogLifecycle] by [SystemClock.elapsedRealtimeNanos], and
+ * keeps the latest [maxSamples] durations of each screen.
+ *
+ * ```kotlin
+ * class App : Application() {
+ *     val tracer = LifecycleTracer()
+ *
+ *     override fun onCreate() {
+ *         super.onCreate()
+ *         registerLifecycleTracer(tracer)
+ *     }
+ * }
+ *
+ * // Later, for example when uploading the metrics.
+ * tracer.snapshot().forEach { println(it) }
+ * ```
+ *
+ * @since 1.3.11
+ */
+class LifecycleTracer @JvmOverloads constructor(
+    private val maxSamples: Int = DEFAULT_LIFECYCLE_SAMPLES
+) {
+
+    init {
+        require(maxSamples > 0) { "The maxSamples($maxSamples) should be positive." }
+    }
+
+    /** The start time of the transitions of each owner, `0` if not started. */
+    private val starts = WeakHashMap<Any, LongArray>()
+
+    /** The samples of the transitions of each screen. */
+    private val screens = LinkedHashMap<String, Array<Samples?>>()
+
+    /** @since 1.3.11 */
+    fun snapshot(): List<TransitionSnapshot> = synchronized(this) {
+        val snapshots = ArrayList<TransitionSnapshot>()
+        for ((screen, samples) in screens) {
+            samples.forEachIndexed { index, sample ->
+                if (null != sample) snapshots.add(sample.snapshot(screen, TRANSITIONS[index]))
+            }
+        }
+        snapshots
+    }
+
+    /** @since 1.3.11 */
+    fun reset() = synchronized(this) {
+        screens.clear()
+    }
+
+    /** Called by [LifecycleLogcat] when [owner] reaches [event]. */
+    internal fun trace(owner: Any, screen: String, event: LogLifecycleEvent) {
+        val now = SystemClock.elapsedRealtimeNanos()
+        synchronized(this) {
+            for (index in TRANSITIONS.indices) {
+                val transition = TRANSITIONS[index]
+                if (event == transition.from) {
+                    starts.getOrPut(owner) { LongArray(TRANSITIONS.size) }[index] = now
+                } else if (event == transition.to) {
+                    val start = starts[owner] ?: continue
+                    if (0L == start[index]) continue
+                    val samples = screens.getOrPut(screen) { arrayOfNulls(TRANSITIONS.size) }
+                    val sample = samples[index] ?: Samples(maxSamples).also { samples[index] = it }
+                    sample.add(now - start[index])
+                    // A transition is timed once, onResume after onPause is not a startup.
+                    start[index] = 0L
+                }
+            }
+            if (LogLifecycleEvent.ON_DESTROY == event || LogLifecycleEvent.ON_DETACH == event) {
+                starts.remove(owner)
+            }
+        }
+    }
+
+    /** The latest durations of a transition, in nanoseconds. */
+    private class Samples(size: Int) {
+        private val values = LongArray(size)
+        private var count = 0L
+        private var max = 0L
+
+        fun add(nanos: Long) {
+            values[(count % values.size).toInt()] = nanos
+            count++
+            if (nanos > max) max = nanos
+        }
+
+        fun snapshot(screen: String, transition: LifecycleTransition): TransitionSnapshot {
+            val sorted = values.copyOf(count.coerceAtMost(values.size.toLong()).toInt())
+            sorted.sort()
+            return TransitionSnapshot(
+                screen, transition, count,
+                sorted.percentile(0.5), sorted.percentile(0.9), sorted.percentile(0.99),
+                max / NANOS_PER_MILLI
+            )
+        }
+
+        /** Nearest-rank percentile of the sorted durations, in milliseconds. */
+        private fun LongArray.percentile(p: Double): Double {
+            val rank = Math.ceil(p * size).toInt().coerceIn(1, size)
+            return this[rank - 1] / NANOS_PER_MILLI
+        }
+    }
+
+    private companion object {
+        const val NANOS_PER_MILLI = 1_000_000.0
+        val TRANSITIONS = LifecycleTransition.values()
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.jetbrains.kotlin.gradle.dsl.JvmTarget
+import org.jetbrains.kotlin.gradle.tasks.KotlinJvmCompile
+
+plugins {
+    kotlin("jvm")
+    id("me.champeau.jmh")
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+tasks.withType<KotlinJvmCompile>().configureEach {
+    compilerOptions {
+        jvmTarget.set(JvmTarget.JVM_17)
+    }
+}
+
+kotlin.sourceSets.all {
+    languageSettings.optIn("com.log.vastgui.core.annotation.LogApi")
+}
+
+// Run with `./gradlew :libraries:log:benchmark:jmh`, the report is written to
+// build/results/jmh/results.txt. Use -Pjmh.includes=<regex> to run a subset.
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    // Report allocation rate (gc.alloc.rate.norm) so that regressions in the
+    // hot path show up as extra bytes per operation.
+    profilers.add("gc")
+    resultFormat.set("TEXT")
+    (project.findProperty("jmh.includes") as String?)?.let { includes.add(it) }
+}
+
+dependencies {
+    jmh(libs.fastjson2)
+    jmh(libs.gson)
+    jmh(libs.jackson.databind)
+    jmh(projects.libraries.kernel)
+    jmh(projects.libraries.log.core)
+    jmh(projects.libraries.log.desktop)
+}
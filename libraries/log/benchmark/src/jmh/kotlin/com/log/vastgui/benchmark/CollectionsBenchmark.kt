@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.benchmark
+
+import com.ave.vastgui.core.collections.BitMask
+import com.ave.vastgui.core.collections.IntIntMap
+import com.ave.vastgui.core.collections.IntObjectMap
+import com.ave.vastgui.core.collections.LongObjectMap
+import com.log.vastgui.core.base.LogLevel
+import com.log.vastgui.core.base.allLogLevel
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/15
+
+/**
+ * The primitive maps of the kernel vs the boxed [HashMap], and [BitMask] vs
+ * the `MutableMap<LogLevel, Boolean>` used by the log plugins before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+open class CollectionsBenchmark {
+
+    /** The number of entries, view types of an adapter are usually a few. */
+    @Param("8", "1024")
+    var size: Int = 0
+
+    private lateinit var keys: IntArray
+
+    private val hashMap = HashMap<Int, String>()
+    private val longHashMap = HashMap<Long, String>()
+    private val intIntHashMap = HashMap<Int, Int>()
+    private val intObjectMap = IntObjectMap<String>()
+    private val longObjectMap = LongObjectMap<String>()
+    private val intIntMap = IntIntMap()
+
+    private val levelMap: MutableMap<LogLevel, Boolean> = mutableMapOf()
+    private val levelMask = BitMask()
+
+    @Setup
+    fun setup() {
+        // Layout ids are large and sparse.
+        keys = IntArray(size) { 0x7f0b0000 + it * 31 }
+        for (key in keys) {
+            hashMap[key] = key.toString()
+            longHashMap[key.toLong()] = key.toString()
+            intIntHashMap[key] = key
+            intObjectMap[key] = key.toString()
+            longObjectMap[key.toLong()] = key.toString()
+            intIntMap[key] = key
+        }
+        allLogLevel.forEach { levelMap[it] = it >= LogLevel.INFO }
+        allLogLevel.filter { it >= LogLevel.INFO }.forEach { levelMask.add(it.priority) }
+    }
+
+    @Benchmark
+    fun hashMapGet(blackhole: Blackhole) {
+        for (key in keys) blackhole.consume(hashMap[key])
+    }
+
+    @Benchmark
+    fun intObjectMapGet(blackhole: Blackhole) {
+        for (key in keys) blackhole.consume(intObjectMap[key])
+    }
+
+    /** How the adapters resolved the factory of a view type before. */
+    @Benchmark
+    fun intObjectMapScan(blackhole: Blackhole) {
+        for (key in keys) blackhole.consume(scan(key))
+    }
+
+    @Benchmark
+    fun longHashMapGet(blackhole: Blackhole) {
+        for (key in keys) blackhole.consume(longHashMap[key.toLong()])
+    }
+
+    @Benchmark
+    fun longObjectMapGet(blackhole: Blackhole) {
+        for (key in keys) blackhole.consume(longObjectMap[key.toLong()])
+    }
+
+    @Benchmark
+    fun intIntHashMapGet(blackhole: Blackhole) {
+        for (key in keys) blackhole.consume(intIntHashMap[key] ?: 0)
+    }
+
+    @Benchmark
+    fun intIntMapGet(blackhole: Blackhole) {
+        for (key in keys) blackhole.consume(intIntMap[key])
+    }
+
+    @Benchmark
+    fun levelMapContains(blackhole: Blackhole) {
+        for (level in allLogLevel) blackhole.consume(levelMap[level] == true)
+    }
+
+    @Benchmark
+    fun levelMaskContains(blackhole: Blackhole) {
+        for (level in allLogLevel) blackhole.consume(level.priority in levelMask)
+    }
+
+    private fun scan(viewType: Int): String? {
+        intObjectMap.forEach { key, value ->
+            if (key == viewType) return value
+        }
+        return null
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.benchmark
+
+import com.log.vastgui.core.LogCat
+import com.log.vastgui.core.format.LineFormat
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Threads
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/10/26
+
+/**
+ * One [LogCat] shared by several threads. Compare the throughput of
+ * [threads1] with [threads4] and [threads8] to see how well the log path
+ * scales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class ContentionBenchmark {
+
+    private lateinit var logcat: LogCat
+
+    @Setup
+    fun setup(blackhole: Blackhole) {
+        logcat = benchmarkLogCat(blackhole, LineFormat)
+    }
+
+    @Benchmark
+    @Threads(1)
+    fun threads1() {
+        logcat.i(SHORT_MESSAGE)
+    }
+
+    @Benchmark
+    @Threads(4)
+    fun threads4() {
+        logcat.i(SHORT_MESSAGE)
+    }
+
+    @Benchmark
+    @Threads(8)
+    fun threads8() {
+        logcat.i(SHORT_MESSAGE)
+    }
+}
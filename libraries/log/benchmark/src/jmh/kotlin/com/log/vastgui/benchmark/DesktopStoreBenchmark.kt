@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.benchmark
+
+import com.log.vastgui.core.base.LogInfo
+import com.log.vastgui.core.base.LogLevel
+import com.log.vastgui.core.base.LogStore
+import com.log.vastgui.core.format.LineFormat
+import com.log.vastgui.desktop.DesktopStore
+import com.log.vastgui.desktop.desktop
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import java.io.File
+import java.nio.file.Files
+import java.util.concurrent.TimeUnit
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/10/26
+
+/**
+ * Write throughput of [DesktopStore]. Every iteration writes to a new
+ * temporary folder which is deleted after the iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class DesktopStoreBenchmark {
+
+    @Param("short", "large")
+    lateinit var message: String
+
+    private lateinit var fileRoot: File
+
+    private lateinit var store: LogStore
+
+    private lateinit var logInfo: LogInfo
+
+    @Setup(Level.Trial)
+    fun setupLogInfo() {
+        val trace = Throwable().stackTrace[0]
+        logInfo = LogInfo(
+            Thread.currentThread().name, trace, LogLevel.INFO, "Benchmark",
+            System.currentTimeMillis(), messageOf(message)
+        )
+    }
+
+    @Setup(Level.Iteration)
+    fun setupStore() {
+        fileRoot = Files.createTempDirectory("log-benchmark").toFile()
+        store = LogStore.desktop(fileRoot.path, 10L * 1024 * 1024, LineFormat)
+    }
+
+    @TearDown(Level.Iteration)
+    fun tearDownStore() {
+        fileRoot.deleteRecursively()
+    }
+
+    @Benchmark
+    fun store() {
+        store.store(logInfo)
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.benchmark
+
+import com.log.vastgui.core.LogCat
+import com.log.vastgui.core.LogFactory
+import com.log.vastgui.core.base.LogFormat
+import com.log.vastgui.core.base.LogInfo
+import com.log.vastgui.core.base.LogLevel
+import com.log.vastgui.core.base.Logger
+import com.log.vastgui.core.base.allLogLevel
+import com.log.vastgui.core.getLogFactory
+import com.log.vastgui.core.json.Converter
+import com.log.vastgui.core.json.FastJsonConverter
+import com.log.vastgui.core.json.GsonConverter
+import com.log.vastgui.core.json.JacksonConverter
+import com.log.vastgui.core.plugin.LogPrinter
+import com.log.vastgui.core.plugin.LogSwitch
+import org.openjdk.jmh.infra.Blackhole
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/10/26
+// Description: Shared fixtures of the log benchmarks.
+
+/**
+ * [Logger] that formats the [LogInfo] and hands the result to
+ * [Blackhole], so the formatting cost is measured without any console
+ * or file I/O.
+ */
+internal class BlackholeLogger(
+    private val blackhole: Blackhole,
+    override val logFormat: LogFormat
+) : Logger {
+    override fun log(logInfo: LogInfo) {
+        blackhole.consume(logFormat.format(logInfo))
+    }
+}
+
+/**
+ * Get a [LogCat] whose [LogPrinter] prints [levels] through
+ * [BlackholeLogger], other plugins can be installed by [plugins].
+ */
+internal fun benchmarkLogCat(
+    blackhole: Blackhole,
+    logFormat: LogFormat,
+    levels: Set<LogLevel> = allLogLevel,
+    plugins: LogFactory.() -> Unit = {}
+): LogCat = getLogFactory {
+    install(LogSwitch) {
+        open = true
+    }
+    install(LogPrinter) {
+        levelSet = levels
+        logger = BlackholeLogger(blackhole, logFormat)
+    }
+    plugins()
+}("Benchmark")
+
+/** Get the converter by the name used in the `@Param` of the benchmarks. */
+internal fun converterOf(name: String, isPretty: Boolean = false): Converter = when (name) {
+    "fastjson" -> FastJsonConverter.getInstance(isPretty)
+    "gson" -> GsonConverter.getInstance(isPretty)
+    "jackson" -> JacksonConverter.getInstance(isPretty)
+    else -> throw IllegalArgumentException("Unknown converter $name.")
+}
+
+/** Get the message by the name used in the `@Param` of the benchmarks. */
+internal fun messageOf(name: String): String = when (name) {
+    "short" -> SHORT_MESSAGE
+    "large" -> LARGE_MESSAGE
+    else -> throw IllegalArgumentException("Unknown message $name.")
+}
+
+/** A typical one line log message. */
+internal const val SHORT_MESSAGE = "user=1024 took=15ms status=OK"
+
+/** A multi-line message of about 100 KB. */
+internal val LARGE_MESSAGE: String = buildString {
+    var line = 0
+    while (length < 100 * 1024) {
+        append("line ").append(line++)
+        append(": The quick brown fox jumps over the lazy dog, 敏捷的棕色狐狸跳过了懒狗。\n")
+    }
+}
+
+/** A compact json object string. */
+internal const val JSON_MESSAGE =
+    "{\"id\":1,\"name\":\"Alice\",\"tags\":[\"a\",\"b\",\"c\"],\"address\":{\"city\":\"Springfield\",\"zip\":\"12345\"},\"active\":true,\"score\":98.5}"
+
+data class Item(val sku: String, val count: Int, val price: Double)
+
+data class Order(
+    val id: Long,
+    val user: String,
+    val items: List<Item>,
+    val attributes: Map<String, String>
+)
+
+/** An order with [size] items, used as the object content of log. */
+internal fun orderOf(size: Int) = Order(
+    id = 1024L,
+    user = "alice.smith@example.com",
+    items = List(size) { Item("SKU-$it", it % 5 + 1, 9.99 + it) },
+    attributes = mapOf("channel" to "app", "region" to "us-east", "coupon" to "NONE")
+)
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.benchmark
+
+import com.log.vastgui.core.base.LogInfo
+import com.log.vastgui.core.base.LogLevel
+import com.log.vastgui.core.format.DEFAULT_MAX_PRINT_TIMES
+import com.log.vastgui.core.format.DEFAULT_MAX_SINGLE_LOG_LENGTH
+import com.log.vastgui.core.format.LineFormat
+import com.log.vastgui.core.format.TableFormat
+import com.log.vastgui.core.format.ThrowableRenderer
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/10/26
+
+/** [LineFormat] vs [TableFormat] on short and 100 KB messages. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class FormatBenchmark {
+
+    @Param("short", "large")
+    lateinit var message: String
+
+    private lateinit var logInfo: LogInfo
+
+    private val tableFormat =
+        TableFormat(DEFAULT_MAX_SINGLE_LOG_LENGTH, DEFAULT_MAX_PRINT_TIMES, TableFormat.LogHeader.default)
+
+    private val dedupTableFormat = TableFormat(
+        DEFAULT_MAX_SINGLE_LOG_LENGTH,
+        DEFAULT_MAX_PRINT_TIMES,
+        TableFormat.LogHeader.default,
+        throwableRenderer = ThrowableRenderer(deduplicate = true)
+    )
+
+    private val throwable = IllegalStateException("Benchmark")
+
+    private lateinit var logInfoWithThrowable: LogInfo
+
+    @Setup
+    fun setup() {
+        val trace = Throwable().stackTrace[0]
+        val content = messageOf(message)
+        val name = Thread.currentThread().name
+        val time = System.currentTimeMillis()
+        logInfo = LogInfo(name, trace, LogLevel.INFO, "Benchmark", time, content)
+        logInfoWithThrowable =
+            LogInfo(name, trace, LogLevel.ERROR, "Benchmark", time, content, throwable)
+    }
+
+    @Benchmark
+    fun lineFormat(): String = LineFormat.format(logInfo)
+
+    @Benchmark
+    fun tableFormat(): String = tableFormat.format(logInfo)
+
+    @Benchmark
+    fun tableFormatWithThrowable(): String = tableFormat.format(logInfoWithThrowable)
+
+    @Benchmark
+    fun tableFormatWithRepeatedThrowable(): String = dedupTableFormat.format(logInfoWithThrowable)
+}
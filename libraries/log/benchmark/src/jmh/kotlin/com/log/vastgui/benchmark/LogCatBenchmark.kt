@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.benchmark
+
+import com.log.vastgui.core.LogCat
+import com.log.vastgui.core.base.LogLevel
+import com.log.vastgui.core.format.OnlyMsgFormat
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/10/26
+
+/**
+ * Throughput of [LogCat] for enabled and disabled levels. Only
+ * [LogLevel.INFO] and above are printed, so the `disabled*` benchmarks
+ * measure what a filtered log call costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class LogCatBenchmark {
+
+    private lateinit var logcat: LogCat
+
+    @Setup
+    fun setup(blackhole: Blackhole) {
+        val levels = setOf(LogLevel.INFO, LogLevel.WARN, LogLevel.ERROR, LogLevel.ASSERT)
+        logcat = benchmarkLogCat(blackhole, OnlyMsgFormat, levels)
+    }
+
+    @Benchmark
+    fun enabled() {
+        logcat.i(SHORT_MESSAGE)
+    }
+
+    @Benchmark
+    fun enabledLazy() {
+        logcat.i { SHORT_MESSAGE }
+    }
+
+    @Benchmark
+    fun disabled() {
+        logcat.d(SHORT_MESSAGE)
+    }
+
+    @Benchmark
+    fun disabledLazy() {
+        logcat.d { SHORT_MESSAGE }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.benchmark
+
+import com.log.vastgui.core.LogCat
+import com.log.vastgui.core.format.OnlyMsgFormat
+import com.log.vastgui.core.plugin.LogJson
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/10/26
+
+/** Cost of converting object content to json through [LogJson]. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class LogJsonBenchmark {
+
+    @Param("fastjson", "gson", "jackson")
+    lateinit var converter: String
+
+    @Param("10", "1000")
+    @JvmField
+    var items: Int = 0
+
+    private lateinit var logcat: LogCat
+
+    private lateinit var order: Order
+
+    @Setup
+    fun setup(blackhole: Blackhole) {
+        val jsonConverter = converterOf(converter)
+        logcat = benchmarkLogCat(blackhole, OnlyMsgFormat) {
+            install(LogJson) {
+                this.converter = jsonConverter
+            }
+        }
+        order = orderOf(items)
+    }
+
+    @Benchmark
+    fun objectContent() {
+        logcat.i(order)
+    }
+}
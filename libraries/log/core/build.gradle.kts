@@ -50,12 +50,14 @@ kotlin.sourceSets.all {
 dependencies {
     compileOnly(libs.gson)
     compileOnly(libs.jackson.databind)
+    compileOnly(libs.kotlinx.coroutines.core)
     implementation(libs.fastjson2)
     implementation(projects.libraries.kernel)
     testImplementation(libs.fastjson2)
     testImplementation(libs.gson)
     testImplementation(libs.jackson.databind)
     testImplementation(libs.junit)
+    testImplementation(libs.kotlinx.coroutines.core)
 }
 
 extra["PUBLISH_ARTIFACT_ID"] = "log-core"
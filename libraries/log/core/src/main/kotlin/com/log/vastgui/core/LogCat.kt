@@ -19,11 +19,18 @@ package com.log.vastgui.core
 import com.ave.vastgui.core.extension.NotNullOrDefault
 import com.log.vastgui.core.annotation.LogApi
 import com.log.vastgui.core.annotation.LogExperimental
+import com.log.vastgui.core.base.LogInfo
 import com.log.vastgui.core.base.LogInfoFactory
 import com.log.vastgui.core.base.LogLevel
 import com.log.vastgui.core.base.Tag
+import com.log.vastgui.core.base.allLogLevel
 import com.log.vastgui.core.internel.LazyMessageWrapper
+import com.log.vastgui.core.internel.ParameterizedMessage
+import com.log.vastgui.core.plugin.LogPrinter
+import com.log.vastgui.core.plugin.LogRouter
+import com.log.vastgui.core.plugin.LogStorage
 import com.log.vastgui.core.plugin.LogSwitch
+import com.log.vastgui.core.plugin.LogTail
 
 // Author: Vast Gui
 // Email: guihy2019@gmail.com
@@ -64,6 +71,34 @@ class LogCat internal constructor(@LogApi val tag: String) {
      */
     internal var logEnabled by NotNullOrDefault(false)
 
+    /**
+     * Levels that are not filtered out by the installed plugins, indexed by
+     * [LogLevel.priority].
+     *
+     * @since 1.3.11
+     */
+    private val mLevels = BooleanArray(LogLevel.ASSERT.priority + 1) { true }
+
+    /**
+     * Called by the plugins that finish the log based on its level, such as
+     * [LogPrinter], [LogStorage] and [LogRouter], so that [isLoggable]
+     * matches what the pipeline does.
+     *
+     * @since 1.3.11
+     */
+    internal fun filterLevels(isLoggable: (LogLevel) -> Boolean) {
+        allLogLevel.forEach { if (!isLoggable(it)) mLevels[it.priority] = false }
+    }
+
+    /**
+     * Returns `true` if a log of [level] would pass [LogSwitch] and the level
+     * configuration of the installed plugins. It can be used to skip
+     * building a costly message.
+     *
+     * @since 1.3.11
+     */
+    fun isLoggable(level: LogLevel): Boolean = logEnabled && mLevels[level.priority]
+
     /**
      * By default users should not call this method, this method exists only to
      * facilitate the development of [LogCat] based logging framework.
@@ -76,6 +111,64 @@ class LogCat internal constructor(@LogApi val tag: String) {
         logPipeline.execute(this, LogInfoFactory(level, tag, content, name, trace, throwable))
     }
 
+    /**
+     * Same as [log], with the diagnostic [context] of the log, such as the
+     * MDC of SLF4J. [context] is kept as is, so it should not be modified
+     * afterward.
+     *
+     * @see LogInfo.context
+     * @since 1.3.11
+     */
+    @LogApi
+    fun log(
+        level: LogLevel,
+        tag: String,
+        content: Any,
+        throwable: Throwable?,
+        trace: StackTraceElement,
+        context: Map<String, String>
+    ) {
+        val name = Thread.currentThread().name
+        logPipeline.execute(this, LogInfoFactory(level, tag, content, name, trace, throwable, context))
+    }
+
+    /**
+     * Create the [LogInfoFactory] of a log whose [content] is built later,
+     * send it by [log] on any thread. The thread name, [context] and the
+     * [LogTail] scope are those of the calling thread, [content] is only
+     * invoked when the log is sent.
+     *
+     * ```kotlin
+     * val factory = logcat.logInfoFactory(LogLevel.DEBUG, logcat.tag, null, trace) { render() }
+     * executor.execute { logcat.log(factory) }
+     * ```
+     *
+     * @since 1.3.11
+     */
+    @LogApi
+    @JvmOverloads
+    fun logInfoFactory(
+        level: LogLevel,
+        tag: String,
+        throwable: Throwable?,
+        trace: StackTraceElement,
+        context: Map<String, String> = emptyMap(),
+        content: () -> String
+    ): LogInfoFactory {
+        val name = Thread.currentThread().name
+        return LogInfoFactory(level, tag, LazyMessageWrapper(content), name, trace, throwable, context)
+    }
+
+    /**
+     * Send the log created by [logInfoFactory].
+     *
+     * @since 1.3.11
+     */
+    @LogApi
+    fun log(factory: LogInfoFactory) {
+        logPipeline.execute(this, factory)
+    }
+
     /**
      * Send a [LogLevel.INFO] log message.
      *
@@ -684,6 +777,366 @@ class LogCat internal constructor(@LogApi val tag: String) {
         log(LogLevel.ASSERT, tag, convertIfNull(LazyMessageWrapper(lazyMsg)), throwable)
     }
 
+    /**
+     * Send a [LogLevel.INFO] log message.
+     *
+     * It keeps `i("message", throwable)` from being resolved to the
+     * parameterized overloads. As in SLF4J, a `{}` of the message is
+     * kept as it is, `i("user={}", throwable)` logs `user={}` with the
+     * throwable.
+     *
+     * @since 1.3.11
+     */
+    fun i(content: String, throwable: Throwable) {
+        log(LogLevel.INFO, tag, content, throwable)
+    }
+
+    /**
+     * Send a [LogLevel.INFO] log message, the `{}` of [pattern] is
+     * replaced by [arg] only when the content is required.
+     *
+     * ```kotlin
+     * logcat.i("user={}", user)
+     * ```
+     *
+     * @since 1.3.11
+     */
+    fun i(pattern: String, arg: Any?) {
+        val message = ParameterizedMessage(pattern, arg)
+        log(LogLevel.INFO, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.INFO] log message, each `{}` of [pattern] is
+     * replaced by [arg1] and [arg2] only when the content is required.
+     * If the last argument is a [Throwable] left without `{}`, it is the
+     * throwable of the log.
+     *
+     * ```kotlin
+     * logcat.i("user={} took={}ms", user, cost)
+     * ```
+     *
+     * @since 1.3.11
+     */
+    fun i(pattern: String, arg1: Any?, arg2: Any?) {
+        val message = ParameterizedMessage(pattern, arg1, arg2)
+        log(LogLevel.INFO, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.INFO] log message, each `{}` of [pattern] is
+     * replaced by the next argument of [args] only when the content is
+     * required.
+     * If the last argument is a [Throwable] left without `{}`, it is the
+     * throwable of the log.
+     *
+     * @since 1.3.11
+     */
+    fun i(pattern: String, vararg args: Any?) {
+        val message = ParameterizedMessage(pattern, args)
+        log(LogLevel.INFO, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.VERBOSE] log message.
+     *
+     * It keeps `v("message", throwable)` from being resolved to the
+     * parameterized overloads. As in SLF4J, a `{}` of the message is
+     * kept as it is, `v("user={}", throwable)` logs `user={}` with the
+     * throwable.
+     *
+     * @since 1.3.11
+     */
+    fun v(content: String, throwable: Throwable) {
+        log(LogLevel.VERBOSE, tag, content, throwable)
+    }
+
+    /**
+     * Send a [LogLevel.VERBOSE] log message, the `{}` of [pattern] is
+     * replaced by [arg] only when the content is required.
+     *
+     * ```kotlin
+     * logcat.v("user={}", user)
+     * ```
+     *
+     * @since 1.3.11
+     */
+    fun v(pattern: String, arg: Any?) {
+        val message = ParameterizedMessage(pattern, arg)
+        log(LogLevel.VERBOSE, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.VERBOSE] log message, each `{}` of [pattern] is
+     * replaced by [arg1] and [arg2] only when the content is required.
+     * If the last argument is a [Throwable] left without `{}`, it is the
+     * throwable of the log.
+     *
+     * ```kotlin
+     * logcat.v("user={} took={}ms", user, cost)
+     * ```
+     *
+     * @since 1.3.11
+     */
+    fun v(pattern: String, arg1: Any?, arg2: Any?) {
+        val message = ParameterizedMessage(pattern, arg1, arg2)
+        log(LogLevel.VERBOSE, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.VERBOSE] log message, each `{}` of [pattern] is
+     * replaced by the next argument of [args] only when the content is
+     * required.
+     * If the last argument is a [Throwable] left without `{}`, it is the
+     * throwable of the log.
+     *
+     * @since 1.3.11
+     */
+    fun v(pattern: String, vararg args: Any?) {
+        val message = ParameterizedMessage(pattern, args)
+        log(LogLevel.VERBOSE, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.WARN] log message.
+     *
+     * It keeps `w("message", throwable)` from being resolved to the
+     * parameterized overloads. As in SLF4J, a `{}` of the message is
+     * kept as it is, `w("user={}", throwable)` logs `user={}` with the
+     * throwable.
+     *
+     * @since 1.3.11
+     */
+    fun w(content: String, throwable: Throwable) {
+        log(LogLevel.WARN, tag, content, throwable)
+    }
+
+    /**
+     * Send a [LogLevel.WARN] log message, the `{}` of [pattern] is
+     * replaced by [arg] only when the content is required.
+     *
+     * ```kotlin
+     * logcat.w("user={}", user)
+     * ```
+     *
+     * @since 1.3.11
+     */
+    fun w(pattern: String, arg: Any?) {
+        val message = ParameterizedMessage(pattern, arg)
+        log(LogLevel.WARN, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.WARN] log message, each `{}` of [pattern] is
+     * replaced by [arg1] and [arg2] only when the content is required.
+     * If the last argument is a [Throwable] left without `{}`, it is the
+     * throwable of the log.
+     *
+     * ```kotlin
+     * logcat.w("user={} took={}ms", user, cost)
+     * ```
+     *
+     * @since 1.3.11
+     */
+    fun w(pattern: String, arg1: Any?, arg2: Any?) {
+        val message = ParameterizedMessage(pattern, arg1, arg2)
+        log(LogLevel.WARN, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.WARN] log message, each `{}` of [pattern] is
+     * replaced by the next argument of [args] only when the content is
+     * required.
+     * If the last argument is a [Throwable] left without `{}`, it is the
+     * throwable of the log.
+     *
+     * @since 1.3.11
+     */
+    fun w(pattern: String, vararg args: Any?) {
+        val message = ParameterizedMessage(pattern, args)
+        log(LogLevel.WARN, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.DEBUG] log message.
+     *
+     * It keeps `d("message", throwable)` from being resolved to the
+     * parameterized overloads. As in SLF4J, a `{}` of the message is
+     * kept as it is, `d("user={}", throwable)` logs `user={}` with the
+     * throwable.
+     *
+     * @since 1.3.11
+     */
+    fun d(content: String, throwable: Throwable) {
+        log(LogLevel.DEBUG, tag, content, throwable)
+    }
+
+    /**
+     * Send a [LogLevel.DEBUG] log message, the `{}` of [pattern] is
+     * replaced by [arg] only when the content is required.
+     *
+     * ```kotlin
+     * logcat.d("user={}", user)
+     * ```
+     *
+     * @since 1.3.11
+     */
+    fun d(pattern: String, arg: Any?) {
+        val message = ParameterizedMessage(pattern, arg)
+        log(LogLevel.DEBUG, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.DEBUG] log message, each `{}` of [pattern] is
+     * replaced by [arg1] and [arg2] only when the content is required.
+     * If the last argument is a [Throwable] left without `{}`, it is the
+     * throwable of the log.
+     *
+     * ```kotlin
+     * logcat.d("user={} took={}ms", user, cost)
+     * ```
+     *
+     * @since 1.3.11
+     */
+    fun d(pattern: String, arg1: Any?, arg2: Any?) {
+        val message = ParameterizedMessage(pattern, arg1, arg2)
+        log(LogLevel.DEBUG, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.DEBUG] log message, each `{}` of [pattern] is
+     * replaced by the next argument of [args] only when the content is
+     * required.
+     * If the last argument is a [Throwable] left without `{}`, it is the
+     * throwable of the log.
+     *
+     * @since 1.3.11
+     */
+    fun d(pattern: String, vararg args: Any?) {
+        val message = ParameterizedMessage(pattern, args)
+        log(LogLevel.DEBUG, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.ERROR] log message.
+     *
+     * It keeps `e("message", throwable)` from being resolved to the
+     * parameterized overloads. As in SLF4J, a `{}` of the message is
+     * kept as it is, `e("user={}", throwable)` logs `user={}` with the
+     * throwable.
+     *
+     * @since 1.3.11
+     */
+    fun e(content: String, throwable: Throwable) {
+        log(LogLevel.ERROR, tag, content, throwable)
+    }
+
+    /**
+     * Send a [LogLevel.ERROR] log message, the `{}` of [pattern] is
+     * replaced by [arg] only when the content is required.
+     *
+     * ```kotlin
+     * logcat.e("user={}", user)
+     * ```
+     *
+     * @since 1.3.11
+     */
+    fun e(pattern: String, arg: Any?) {
+        val message = ParameterizedMessage(pattern, arg)
+        log(LogLevel.ERROR, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.ERROR] log message, each `{}` of [pattern] is
+     * replaced by [arg1] and [arg2] only when the content is required.
+     * If the last argument is a [Throwable] left without `{}`, it is the
+     * throwable of the log.
+     *
+     * ```kotlin
+     * logcat.e("user={} took={}ms", user, cost)
+     * ```
+     *
+     * @since 1.3.11
+     */
+    fun e(pattern: String, arg1: Any?, arg2: Any?) {
+        val message = ParameterizedMessage(pattern, arg1, arg2)
+        log(LogLevel.ERROR, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.ERROR] log message, each `{}` of [pattern] is
+     * replaced by the next argument of [args] only when the content is
+     * required.
+     * If the last argument is a [Throwable] left without `{}`, it is the
+     * throwable of the log.
+     *
+     * @since 1.3.11
+     */
+    fun e(pattern: String, vararg args: Any?) {
+        val message = ParameterizedMessage(pattern, args)
+        log(LogLevel.ERROR, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.ASSERT] log message.
+     *
+     * It keeps `a("message", throwable)` from being resolved to the
+     * parameterized overloads. As in SLF4J, a `{}` of the message is
+     * kept as it is, `a("user={}", throwable)` logs `user={}` with the
+     * throwable.
+     *
+     * @since 1.3.11
+     */
+    fun a(content: String, throwable: Throwable) {
+        log(LogLevel.ASSERT, tag, content, throwable)
+    }
+
+    /**
+     * Send a [LogLevel.ASSERT] log message, the `{}` of [pattern] is
+     * replaced by [arg] only when the content is required.
+     *
+     * ```kotlin
+     * logcat.a("user={}", user)
+     * ```
+     *
+     * @since 1.3.11
+     */
+    fun a(pattern: String, arg: Any?) {
+        val message = ParameterizedMessage(pattern, arg)
+        log(LogLevel.ASSERT, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.ASSERT] log message, each `{}` of [pattern] is
+     * replaced by [arg1] and [arg2] only when the content is required.
+     * If the last argument is a [Throwable] left without `{}`, it is the
+     * throwable of the log.
+     *
+     * ```kotlin
+     * logcat.a("user={} took={}ms", user, cost)
+     * ```
+     *
+     * @since 1.3.11
+     */
+    fun a(pattern: String, arg1: Any?, arg2: Any?) {
+        val message = ParameterizedMessage(pattern, arg1, arg2)
+        log(LogLevel.ASSERT, tag, message, message.throwable)
+    }
+
+    /**
+     * Send a [LogLevel.ASSERT] log message, each `{}` of [pattern] is
+     * replaced by the next argument of [args] only when the content is
+     * required.
+     * If the last argument is a [Throwable] left without `{}`, it is the
+     * throwable of the log.
+     *
+     * @since 1.3.11
+     */
+    fun a(pattern: String, vararg args: Any?) {
+        val message = ParameterizedMessage(pattern, args)
+        log(LogLevel.ASSERT, tag, message, message.throwable)
+    }
+
     /** @since 1.3.5 */
     private fun convertIfNull(content: Any?): Any {
         if (null != content) return content
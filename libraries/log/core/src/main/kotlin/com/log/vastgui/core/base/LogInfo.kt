@@ -37,6 +37,8 @@ import com.log.vastgui.core.annotation.LogApi
  * @property content The message you would like logged.
  * @property time The current time in milliseconds, only initialized when
  *     the object is created.
+ * @property context Diagnostic context of the log, for example the MDC
+ *     of SLF4J. (since 1.3.11)
  * @since 0.5.2
  */
 data class LogInfo @LogApi constructor(
@@ -47,7 +49,8 @@ data class LogInfo @LogApi constructor(
     val tag: String,
     val time: Long,
     val content: String,
-    val throwable: Throwable? = null
+    val throwable: Throwable? = null,
+    val context: Map<String, String> = emptyMap()
 ) {
 
     @JSONField(serialize = false)
@@ -18,8 +18,10 @@ package com.log.vastgui.core.base
 
 import com.log.vastgui.core.annotation.LogApi
 import com.log.vastgui.core.internel.LazyMessageWrapper
+import com.log.vastgui.core.internel.ParameterizedMessage
 import com.log.vastgui.core.plugin.LogJson
 import com.log.vastgui.core.plugin.LogPretty
+import com.log.vastgui.core.plugin.LogTail
 
 /**
  * [LogInfo] factory.
@@ -32,12 +34,32 @@ class LogInfoFactory @LogApi constructor(
     content: Any,
     internal val threadName: String,
     internal val stackTrace: StackTraceElement,
-    internal val tr: Throwable? = null
+    internal val tr: Throwable? = null,
+    /** @since 1.3.11 */
+    internal val context: Map<String, String> = emptyMap()
 ) {
     internal lateinit var logInfo: LogInfo
 
     /**
-     * [String] or lazy String (() -> String)
+     * The [LogTail.Scope] of the thread creating the factory, so that a log
+     * handled by another thread (for example a render executor) still
+     * belongs to the scope it was sent in.
+     *
+     * @since 1.3.11
+     */
+    internal val tailScope: LogTail.Scope? = LogTail.Scope.current.get()
+
+    /**
+     * The time the log is sent, it is kept so that a log built later (for
+     * example one buffered by [LogTail]) still has its original time.
+     *
+     * @since 1.3.11
+     */
+    private val time: Long = System.currentTimeMillis()
+
+    /**
+     * [String], lazy String (() -> String) or message pattern with its
+     * arguments.
      *
      * @since 1.3.4
      */
@@ -47,10 +69,16 @@ class LogInfoFactory @LogApi constructor(
     private val isFuncContent: Boolean
         get() = rawContentOrLazy is LazyMessageWrapper
 
+    /** @since 1.3.11 */
+    private val isParameterizedContent: Boolean
+        get() = rawContentOrLazy is ParameterizedMessage
+
     /** @since 1.3.4 */
     fun content(): Any {
         if (isFuncContent) {
             rawContentOrLazy = (rawContentOrLazy as LazyMessageWrapper).lazyMsg()
+        } else if (isParameterizedContent) {
+            rawContentOrLazy = (rawContentOrLazy as ParameterizedMessage).format()
         }
         return rawContentOrLazy
     }
@@ -76,6 +104,15 @@ class LogInfoFactory @LogApi constructor(
         return rawContentOrLazy as String
     }
 
+    /**
+     * Return the [LogInfo] built by the plugins before, or build it if it
+     * has not been built.
+     *
+     * @since 1.3.11
+     */
+    internal fun buildIfAbsent(): LogInfo =
+        if (::logInfo.isInitialized) logInfo else build()
+
     /** @since 1.3.4 */
     fun build(): LogInfo {
         check(!::logInfo.isInitialized) { "logInfo has been initialized." }
@@ -84,9 +121,10 @@ class LogInfoFactory @LogApi constructor(
             stackTrace,
             level,
             tag,
-            System.currentTimeMillis(),
+            time,
             content() as String,
-            tr
+            tr,
+            context
         ).also { logInfo = it }
     }
 }
\ No newline at end of file
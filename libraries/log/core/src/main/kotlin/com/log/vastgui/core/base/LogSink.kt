@@ -0,0 +1,254 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.core.base
+
+import com.log.vastgui.core.internel.RoutedLog
+import com.log.vastgui.core.plugin.LogRouter
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.BlockingQueue
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/10/31
+// Documentation: https://ave.entropy2020.cn/documents/log/log-core/plugin/router/
+
+/**
+ * Default capacity of the queue of a [LogSink].
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_SINK_CAPACITY = 1024
+
+/**
+ * A destination of [LogRouter], such as console, file, flight recorder or
+ * remote server.
+ *
+ * Every sink with a positive [capacity] owns a bounded queue and a daemon
+ * thread that writes the logs. When the queue is full the log is dropped
+ * and counted by [droppedCount], so a slow sink never blocks the caller or
+ * the other sinks. A sink whose [capacity] is `0` writes on the caller
+ * thread. An exception thrown by the writer is counted by [failedCount],
+ * an [Error] is rethrown.
+ *
+ * A sink should be created once and shared by all [LogRouter]
+ * configurations, otherwise every logcat gets its own thread.
+ *
+ * ```kotlin
+ * private val console = LogSink.of(Logger.desktop(), "console", setOf(LogLevel.INFO, LogLevel.ERROR))
+ * private val file = LogSink.of(LogStore.desktop("", 1024L * 1000), "file")
+ *
+ * val logFactory: LogFactory = getLogFactory {
+ *     ...
+ *     install(LogRouter) {
+ *         sink(console)
+ *         sink(file)
+ *     }
+ * }
+ * ```
+ *
+ * @property name The name of the sink, also used for the thread name.
+ * @property logFormat The format of the log, the logs are formatted only
+ * once for all sinks that share the same [LogFormat] instance.
+ * @property levelSet Log levels allowed to be written.
+ * @property capacity Capacity of the queue, `0` means synchronous.
+ * @since 1.3.11
+ */
+class LogSink @JvmOverloads constructor(
+    val name: String,
+    val logFormat: LogFormat,
+    val levelSet: Set<LogLevel> = allLogLevel,
+    val capacity: Int = DEFAULT_SINK_CAPACITY,
+    private val writer: Writer
+) {
+
+    init {
+        require(capacity >= 0) { "capacity($capacity) should not be negative." }
+    }
+
+    /**
+     * Write the formatted log.
+     *
+     * @since 1.3.11
+     */
+    fun interface Writer {
+        /**
+         * Write [content], which is [logInfo] formatted by [logFormat].
+         *
+         * @since 1.3.11
+         */
+        fun write(logInfo: LogInfo, content: String)
+    }
+
+    /** Whether the level is allowed, indexed by [LogLevel.priority]. */
+    private val mLevels = BooleanArray(ASSERT_PRIORITY + 1).also { levels ->
+        levelSet.forEach { levels[it.priority] = true }
+    }
+
+    private val mQueue: BlockingQueue<RoutedLog>? =
+        if (capacity > 0) ArrayBlockingQueue(capacity) else null
+
+    private val mPending = AtomicInteger(0)
+
+    private val mDropped = AtomicLong(0)
+
+    private val mFailed = AtomicLong(0)
+
+    /** Notified when [mPending] drops to `0`. */
+    private val mIdleLock = Object()
+
+    @Volatile
+    private var mWorker: Thread? = null
+
+    /**
+     * The number of logs dropped because the queue was full.
+     *
+     * @since 1.3.11
+     */
+    val droppedCount: Long
+        get() = mDropped.get()
+
+    /**
+     * The number of logs the writer failed to write with an exception.
+     *
+     * @since 1.3.11
+     */
+    val failedCount: Long
+        get() = mFailed.get()
+
+    /** @since 1.3.11 */
+    fun isLoggable(level: LogLevel): Boolean = mLevels[level.priority]
+
+    /**
+     * Wait until all queued logs are written.
+     *
+     * @return `true` if the queue is drained before [timeoutMillis].
+     * @since 1.3.11
+     */
+    fun awaitIdle(timeoutMillis: Long): Boolean {
+        val deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis)
+        synchronized(mIdleLock) {
+            while (mPending.get() > 0) {
+                val remaining = deadline - System.nanoTime()
+                if (remaining <= 0) return false
+                TimeUnit.NANOSECONDS.timedWait(mIdleLock, remaining)
+            }
+        }
+        return true
+    }
+
+    /**
+     * Queue [log], or write it directly if [capacity] is `0`.
+     *
+     * @since 1.3.11
+     */
+    internal fun offer(log: RoutedLog) {
+        val queue = mQueue
+        if (null == queue) {
+            write(log)
+            return
+        }
+        ensureWorker()
+        mPending.incrementAndGet()
+        if (!queue.offer(log)) {
+            mDropped.incrementAndGet()
+            done()
+        }
+    }
+
+    private fun write(log: RoutedLog) {
+        try {
+            writer.write(log.logInfo, log.content(logFormat))
+        } catch (exception: Exception) {
+            mFailed.incrementAndGet()
+        }
+    }
+
+    /** A queued log is written or dropped. */
+    private fun done() {
+        if (mPending.decrementAndGet() == 0) synchronized(mIdleLock) { mIdleLock.notifyAll() }
+    }
+
+    private fun ensureWorker() {
+        if (null != mWorker) return
+        synchronized(this) {
+            if (null != mWorker) return
+            mWorker = Thread({
+                val queue = mQueue!!
+                try {
+                    while (true) {
+                        val log = try {
+                            queue.take()
+                        } catch (exception: InterruptedException) {
+                            return@Thread
+                        }
+                        try {
+                            write(log)
+                        } finally {
+                            done()
+                        }
+                    }
+                } finally {
+                    // The worker is killed by an Error, the next log starts
+                    // a new one.
+                    mWorker = null
+                }
+            }, "LogSink-$name").apply {
+                isDaemon = true
+                start()
+            }
+        }
+    }
+
+    companion object {
+        private val ASSERT_PRIORITY = LogLevel.ASSERT.priority
+
+        /**
+         * Create a sink that writes to [logger].
+         *
+         * @since 1.3.11
+         */
+        @JvmStatic
+        @JvmOverloads
+        fun of(
+            logger: Logger,
+            name: String = logger.javaClass.simpleName,
+            levelSet: Set<LogLevel> = allLogLevel,
+            capacity: Int = DEFAULT_SINK_CAPACITY
+        ): LogSink = LogSink(name, logger.logFormat, levelSet, capacity) { logInfo, content ->
+            logger.log(logInfo, content)
+        }
+
+        /**
+         * Create a sink that writes to [logStore].
+         *
+         * @since 1.3.11
+         */
+        @JvmStatic
+        @JvmOverloads
+        fun of(
+            logStore: LogStore,
+            name: String = logStore.javaClass.simpleName,
+            levelSet: Set<LogLevel> = allLogLevel,
+            capacity: Int = DEFAULT_SINK_CAPACITY
+        ): LogSink = LogSink(name, logStore.logFormat, levelSet, capacity) { logInfo, content ->
+            logStore.store(logInfo, content)
+        }
+    }
+}
@@ -39,5 +39,15 @@ interface LogStore {
     /** @since 1.3.1 */
     fun store(logInfo: LogInfo)
 
+    /**
+     * Store [content], which is [logInfo] already formatted by [logFormat].
+     * It is called by [LogSink] on its own thread, so the content should be
+     * stored synchronously. By default [content] is ignored and
+     * [logInfo] is stored by [store].
+     *
+     * @since 1.3.11
+     */
+    fun store(logInfo: LogInfo, content: String) = store(logInfo)
+
     companion object
 }
\ No newline at end of file
@@ -39,6 +39,16 @@ interface Logger {
     /** @since 1.3.1 */
     fun log(logInfo: LogInfo)
 
+    /**
+     * Print [content], which is [logInfo] already formatted by [logFormat].
+     * It is called by [LogSink] on its own thread, so the content should be
+     * printed synchronously. By default [content] is ignored and
+     * [logInfo] is printed by [log].
+     *
+     * @since 1.3.11
+     */
+    fun log(logInfo: LogInfo, content: String) = log(logInfo)
+
     companion object
 }
 
@@ -34,6 +34,7 @@ import com.log.vastgui.core.base.LogInfo
  */
 object LineFormat : LogFormat {
     override fun format(logInfo: LogInfo): String = logInfo.let {
-        "${timeSdf.format(it.time)} [${it.level}|${it.tag}|${it.threadName}] (${it.stackTrace?.fileName}:${it.stackTrace?.lineNumber}) ${it.content}"
+        val context = if (it.context.isEmpty()) "" else "${it.context} "
+        "${timeSdf.format(it.time)} [${it.level}|${it.tag}|${it.threadName}] (${it.stackTrace?.fileName}:${it.stackTrace?.lineNumber}) $context${it.content}"
     }
 }
\ No newline at end of file
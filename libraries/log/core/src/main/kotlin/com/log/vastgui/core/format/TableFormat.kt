@@ -52,6 +52,9 @@ const val DEFAULT_MAX_PRINT_TIMES = Int.MAX_VALUE
  * @param ellipsis If the content that needs to be printed exceeds the
  * number of times specified by [maxPrintTimes], the user can decide
  * whether to end with [ellipsis]。
+ * @param throwableRenderer Render [LogInfo.throwable], use a
+ * [ThrowableRenderer] with `deduplicate = true` to print repeated traces
+ * only once.
  * @see <img
  * src=https://github.com/SakurajimaMaii/Android-Vast-Extension/blob/develop/libraries/log/core/image/table_format.png?raw=true>
  * @since 1.3.4
@@ -61,7 +64,9 @@ class TableFormat(
     private val maxPrintTimes: Int,
     private val header: LogHeader = LogHeader.default,
     /** @since 1.3.8 */
-    private val ellipsis: String? = null
+    private val ellipsis: String? = null,
+    /** @since 1.3.11 */
+    val throwableRenderer: ThrowableRenderer = ThrowableRenderer.default
 ) : LogFormat {
 
     init {
@@ -174,13 +179,15 @@ class TableFormat(
         appendLine(LogDivider.getInfo("$thread $tag $level $time"))
         appendLine(LogDivider.getDivider(length))
         appendLine(LogDivider.getInfo("${logInfo.stackTrace}"))
+        if (logInfo.context.isNotEmpty()) {
+            appendLine(LogDivider.getInfo("Context: ${logInfo.context}"))
+        }
         appendLine(LogDivider.getDivider(length))
         customScope(this, logInfo.content)
         logInfo.throwable?.apply {
             appendLine(LogDivider.getDivider(length))
-            appendLine(LogDivider.getInfo("$this"))
-            for (item in this.stackTrace) {
-                appendLine(LogDivider.getInfo("  at $item"))
+            for (line in throwableRenderer.lines(this)) {
+                appendLine(LogDivider.getInfo(line))
             }
         }
         append(LogDivider.getBottom(length))
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.core.format
+
+import java.util.Collections
+import java.util.IdentityHashMap
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/10/30
+// Documentation: https://ave.entropy2020.cn/documents/log/log-core/format/
+
+/**
+ * Default maximum number of distinct traces remembered by
+ * [ThrowableRenderer].
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_MAX_REMEMBERED_TRACES = 1024
+
+/**
+ * Render a [Throwable] and its causes as lines.
+ *
+ * When [deduplicate] is `true`, the trace (the class and the frames of the
+ * throwable and its causes, but not the message) is hashed. The first
+ * time a trace is seen it is rendered in full and tagged with an ID, after
+ * that only `same as #ID (xN)` is rendered, which keeps a failing request
+ * in a retry loop from writing the same trace again and again.
+ *
+ * ```kotlin
+ * val renderer = ThrowableRenderer(
+ *     maxFrames = 20,
+ *     excludePackages = listOf("kotlinx.coroutines.", "java.lang.reflect."),
+ *     deduplicate = true
+ * )
+ * TableFormat(DEFAULT_MAX_SINGLE_LOG_LENGTH, DEFAULT_MAX_PRINT_TIMES, throwableRenderer = renderer)
+ * ```
+ *
+ * @param maxFrames Maximum number of frames rendered for each throwable
+ * of the cause chain.
+ * @param excludePackages Frames whose class name starts with one of them
+ * are folded into a single line.
+ * @param deduplicate `true` if repeated traces should only be rendered
+ * once.
+ * @param maxRememberedTraces Maximum number of distinct traces remembered,
+ * traces seen after that are always rendered in full.
+ * @since 1.3.11
+ */
+class ThrowableRenderer @JvmOverloads constructor(
+    private val maxFrames: Int = Int.MAX_VALUE,
+    private val excludePackages: List<String> = emptyList(),
+    private val deduplicate: Boolean = false,
+    private val maxRememberedTraces: Int = DEFAULT_MAX_REMEMBERED_TRACES
+) {
+
+    init {
+        require(maxFrames >= 0) { "maxFrames($maxFrames) should not be negative." }
+        require(maxRememberedTraces >= 0) { "maxRememberedTraces($maxRememberedTraces) should not be negative." }
+    }
+
+    /**
+     * A rendered trace.
+     *
+     * @property id The ID shown in the log.
+     * @property count The number of times the trace was seen.
+     */
+    private class Trace(val id: Int) {
+        val count = AtomicInteger(0)
+    }
+
+    private val mTraces = ConcurrentHashMap<Long, Trace>()
+
+    private val mNextId = AtomicInteger(1)
+
+    /**
+     * Render [throwable] as lines, frames are indented and start with
+     * `at`.
+     *
+     * @since 1.3.11
+     */
+    fun lines(throwable: Throwable): List<String> {
+        val lines = ArrayList<String>()
+        if (!deduplicate) {
+            appendTrace(lines, throwable, null)
+            return lines
+        }
+        val hash = hashOf(throwable)
+        var trace = mTraces[hash]
+        if (null == trace && mTraces.size < maxRememberedTraces) {
+            trace = mTraces.putIfAbsent(hash, Trace(mNextId.getAndIncrement())) ?: mTraces[hash]
+        }
+        val count = trace?.count?.incrementAndGet() ?: 1
+        if (null != trace && count > 1) {
+            lines.add(throwable.toString())
+            lines.add("  same as #${trace.id} (x$count)")
+        } else {
+            appendTrace(lines, throwable, trace?.id)
+        }
+        return lines
+    }
+
+    /**
+     * Render [throwable] as a string whose lines are separated by `\n`.
+     *
+     * @since 1.3.11
+     */
+    fun render(throwable: Throwable): String = lines(throwable).joinToString("\n")
+
+    private fun appendTrace(lines: MutableList<String>, throwable: Throwable, id: Int?) {
+        val visited = Collections.newSetFromMap(IdentityHashMap<Throwable, Boolean>())
+        var current: Throwable? = throwable
+        var prefix = if (null == id) "" else "#$id "
+        while (null != current && visited.add(current)) {
+            lines.add("$prefix$current")
+            appendFrames(lines, current.stackTrace)
+            prefix = CAUSED_BY
+            current = current.cause
+        }
+    }
+
+    private fun appendFrames(lines: MutableList<String>, frames: Array<StackTraceElement>) {
+        var rendered = 0
+        var excluded = 0
+        for ((index, frame) in frames.withIndex()) {
+            if (isExcluded(frame)) {
+                excluded++
+                continue
+            }
+            if (excluded > 0) {
+                lines.add("  ... $excluded excluded")
+                excluded = 0
+            }
+            if (rendered >= maxFrames) {
+                lines.add("  ... ${frames.size - index} more")
+                return
+            }
+            lines.add("  at $frame")
+            rendered++
+        }
+        if (excluded > 0) lines.add("  ... $excluded excluded")
+    }
+
+    private fun isExcluded(frame: StackTraceElement): Boolean {
+        if (excludePackages.isEmpty()) return false
+        val className = frame.className
+        return excludePackages.any { className.startsWith(it) }
+    }
+
+    /** Hash of the classes and frames of [throwable] and its causes. */
+    private fun hashOf(throwable: Throwable): Long {
+        val visited = Collections.newSetFromMap(IdentityHashMap<Throwable, Boolean>())
+        var hash = 1125899906842597L
+        var current: Throwable? = throwable
+        while (null != current && visited.add(current)) {
+            hash = 31 * hash + current.javaClass.name.hashCode()
+            for (frame in current.stackTrace) {
+                hash = 31 * hash + frame.hashCode()
+            }
+            current = current.cause
+        }
+        return hash
+    }
+
+    companion object {
+        private const val CAUSED_BY = "Caused by: "
+
+        /**
+         * Render every frame of the throwable and its causes.
+         *
+         * @since 1.3.11
+         */
+        val default = ThrowableRenderer()
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.core.internel
+
+import com.log.vastgui.core.LogCat
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/10/29
+
+/**
+ * A message pattern with `{}` placeholders and its arguments, it is not
+ * formatted until the content of the log is required.
+ *
+ * Up to two arguments are kept in fields so that the fixed arity
+ * overloads of [LogCat] do not allocate an array, more arguments are kept
+ * in [args].
+ *
+ * As in SLF4J, if the last argument is a [Throwable] and [pattern] has
+ * fewer placeholders than arguments, it is not an argument but the
+ * [throwable] of the log.
+ *
+ * @since 1.3.11
+ */
+internal class ParameterizedMessage private constructor(
+    private val pattern: String,
+    argCount: Int,
+    private val arg0: Any?,
+    private val arg1: Any?,
+    private val args: Array<out Any?>?
+) {
+
+    /**
+     * The trailing [Throwable] argument without placeholder, or `null`.
+     *
+     * @since 1.3.11
+     */
+    val throwable: Throwable?
+
+    /** The number of arguments, [throwable] excluded. */
+    private val argCount: Int
+
+    init {
+        val last = if (argCount > 0) argAt(argCount - 1) else null
+        throwable = if (last is Throwable && placeholderCount(pattern, argCount) < argCount) last else null
+        this.argCount = if (null == throwable) argCount else argCount - 1
+    }
+
+    constructor(pattern: String, arg0: Any?) :
+            this(pattern, 1, arg0, null, null)
+
+    constructor(pattern: String, arg0: Any?, arg1: Any?) :
+            this(pattern, 2, arg0, arg1, null)
+
+    constructor(pattern: String, args: Array<out Any?>) :
+            this(pattern, args.size, null, null, args)
+
+    /**
+     * Replace each `{}` of the pattern with the next argument. A `{}`
+     * escaped as `\{}` is kept as it is, placeholders without argument
+     * are kept as well.
+     *
+     * @since 1.3.11
+     */
+    fun format(): String {
+        if (argCount == 0) return pattern
+        val builder = StringBuilder(pattern.length + 16 * argCount)
+        var start = 0
+        var index = 0
+        while (index < argCount) {
+            val found = pattern.indexOf(PLACEHOLDER, start)
+            if (found == -1) break
+            if (found > 0 && pattern[found - 1] == ESCAPE) {
+                builder.append(pattern, start, found - 1).append(PLACEHOLDER)
+            } else {
+                builder.append(pattern, start, found)
+                appendArg(builder, argAt(index++))
+            }
+            start = found + PLACEHOLDER.length
+        }
+        builder.append(pattern, start, pattern.length)
+        return builder.toString()
+    }
+
+    private fun argAt(index: Int): Any? = when {
+        null != args -> args[index]
+        0 == index -> arg0
+        else -> arg1
+    }
+
+    private fun appendArg(builder: StringBuilder, arg: Any?) {
+        when (arg) {
+            is Array<*> -> builder.append(arg.contentDeepToString())
+            is IntArray -> builder.append(arg.contentToString())
+            is LongArray -> builder.append(arg.contentToString())
+            is ByteArray -> builder.append(arg.contentToString())
+            is ShortArray -> builder.append(arg.contentToString())
+            is CharArray -> builder.append(arg.contentToString())
+            is FloatArray -> builder.append(arg.contentToString())
+            is DoubleArray -> builder.append(arg.contentToString())
+            is BooleanArray -> builder.append(arg.contentToString())
+            else -> builder.append(arg)
+        }
+    }
+
+    companion object {
+        private const val PLACEHOLDER = "{}"
+        private const val ESCAPE = '\\'
+
+        /** The number of unescaped placeholders of [pattern], at most [limit]. */
+        private fun placeholderCount(pattern: String, limit: Int): Int {
+            var count = 0
+            var start = 0
+            while (count < limit) {
+                val found = pattern.indexOf(PLACEHOLDER, start)
+                if (found == -1) break
+                if (found == 0 || pattern[found - 1] != ESCAPE) count++
+                start = found + PLACEHOLDER.length
+            }
+            return count
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.core.internel
+
+import com.log.vastgui.core.base.LogFormat
+import com.log.vastgui.core.base.LogInfo
+import com.log.vastgui.core.base.LogSink
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/10/31
+
+/**
+ * A log sent to several [LogSink], it keeps the content formatted by each
+ * of [formats] so that sinks sharing the same [LogFormat] format the log
+ * only once, on whichever sink thread asks first.
+ *
+ * @since 1.3.11
+ */
+internal class RoutedLog(val logInfo: LogInfo, private val formats: Array<LogFormat>) {
+
+    private val contents = arrayOfNulls<String>(formats.size)
+
+    /**
+     * The content of [logInfo] formatted by [logFormat].
+     *
+     * @since 1.3.11
+     */
+    fun content(logFormat: LogFormat): String {
+        val index = formats.indexOfFirst { it === logFormat }
+        if (-1 == index) return logFormat.format(logInfo)
+        return synchronized(this) {
+            contents[index] ?: logFormat.format(logInfo).also { contents[index] = it }
+        }
+    }
+}
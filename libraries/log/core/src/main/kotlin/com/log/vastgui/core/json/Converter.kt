@@ -16,6 +16,8 @@
 
 package com.log.vastgui.core.json
 
+import java.io.Writer
+
 // Author: Vast Gui
 // Email: guihy2019@gmail.com
 // Date: 2023/8/29
@@ -30,6 +32,19 @@ interface Converter {
 
     fun toJson(data: Any): String
 
+    /**
+     * Write [data] as json into [writer]. The json library should write
+     * into [writer] as it goes, so that a [writer] that throws once it is
+     * full stops the serialization early. The default implementation
+     * writes the result of [toJson].
+     *
+     * @throws Exception If [data] can not be written or [writer] throws.
+     * @since 1.3.11
+     */
+    fun toJson(data: Any, writer: Writer) {
+        writer.write(toJson(data))
+    }
+
     /**
      * Parse string as json object.
      *
@@ -18,7 +18,7 @@ package com.log.vastgui.core.json
 
 import com.alibaba.fastjson2.JSON
 import com.alibaba.fastjson2.JSONWriter
-import com.ave.vastgui.core.extension.SingletonHolder
+import com.ave.vastgui.core.extension.KeyedSingletonHolder
 
 // Author: Vast Gui
 // Email: guihy2019@gmail.com
@@ -45,6 +45,6 @@ class FastJsonConverter private constructor(override val isPretty: Boolean) : Co
         toJson(JSON.parseObject(jsonString))
     }.getOrDefault(jsonString)
 
-    companion object : SingletonHolder<FastJsonConverter, Boolean>(::FastJsonConverter)
+    companion object : KeyedSingletonHolder<FastJsonConverter, Boolean>(::FastJsonConverter)
 
 }
\ No newline at end of file
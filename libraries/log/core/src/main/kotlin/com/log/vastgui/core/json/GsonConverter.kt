@@ -16,12 +16,13 @@
 
 package com.log.vastgui.core.json
 
-import com.ave.vastgui.core.extension.SingletonHolder
+import com.ave.vastgui.core.extension.KeyedSingletonHolder
 import com.google.gson.GsonBuilder
 import com.google.gson.JsonParser
 import com.google.gson.Strictness
 import com.google.gson.stream.JsonReader
 import java.io.StringReader
+import java.io.Writer
 
 // Author: Vast Gui
 // Email: guihy2019@gmail.com
@@ -43,12 +44,17 @@ class GsonConverter private constructor(override val isPretty: Boolean) : Conver
     override fun toJson(data: Any): String =
         runCatching { gson.toJson(data) }.getOrDefault(data.toString())
 
+    /** @since 1.3.11 */
+    override fun toJson(data: Any, writer: Writer) {
+        gson.toJson(data, writer)
+    }
+
     override fun parseString(jsonString: String): String = runCatching {
         val reader = JsonReader(StringReader(jsonString))
             .apply { strictness = Strictness.STRICT }
         toJson(JsonParser.parseReader(reader).asJsonObject)
     }.getOrDefault(jsonString)
 
-    companion object : SingletonHolder<GsonConverter, Boolean>(::GsonConverter)
+    companion object : KeyedSingletonHolder<GsonConverter, Boolean>(::GsonConverter)
 
 }
\ No newline at end of file
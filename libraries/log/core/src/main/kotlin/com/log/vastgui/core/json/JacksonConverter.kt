@@ -16,9 +16,10 @@
 
 package com.log.vastgui.core.json
 
-import com.ave.vastgui.core.extension.SingletonHolder
+import com.ave.vastgui.core.extension.KeyedSingletonHolder
 import com.fasterxml.jackson.core.JsonFactory
 import com.fasterxml.jackson.databind.ObjectMapper
+import java.io.Writer
 
 // Author: Vast Gui
 // Email: guihy2019@gmail.com
@@ -46,6 +47,15 @@ class JacksonConverter private constructor(override val isPretty: Boolean) : Con
         }
     }.getOrDefault(data.toString())
 
+    /** @since 1.3.11 */
+    override fun toJson(data: Any, writer: Writer) {
+        if (isPretty) {
+            mapper.writerWithDefaultPrettyPrinter().writeValue(writer, data)
+        } else {
+            mapper.writeValue(writer, data)
+        }
+    }
+
     override fun parseString(jsonString: String): String = runCatching {
         val jsonNode = mapper.readTree(jsonString)
         if(jsonNode.isNull) return@runCatching jsonString
@@ -56,6 +66,6 @@ class JacksonConverter private constructor(override val isPretty: Boolean) : Con
         }
     }.getOrDefault(jsonString)
 
-    companion object : SingletonHolder<JacksonConverter, Boolean>(::JacksonConverter)
+    companion object : KeyedSingletonHolder<JacksonConverter, Boolean>(::JacksonConverter)
 
 }
\ No newline at end of file
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.core.json
+
+import com.log.vastgui.core.plugin.LogJson
+import java.io.IOException
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/10/28
+// Documentation: https://ave.entropy2020.cn/documents/log/log-core/plugin/json/
+
+/**
+ * Default maximum number of chars produced by [JsonBudgetWriter].
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_MAX_JSON_LENGTH = 64 * 1024
+
+/**
+ * Default maximum nesting depth written by [JsonBudgetWriter].
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_MAX_JSON_DEPTH = 16
+
+/**
+ * Default maximum number of elements written for a single collection, array
+ * or map by [JsonBudgetWriter].
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_MAX_JSON_ELEMENTS = 256
+
+/**
+ * A json writer that stops as soon as its budget is used up instead of
+ * serializing the whole object graph.
+ *
+ * Primitives, [Number], [Char], [CharSequence], maps, arrays and
+ * [Iterable] are written directly into a single [StringBuilder]. Any other
+ * object is handed to [Converter.toJson] with a writer that throws once the
+ * output reaches [maxLength], so annotations of the json library are still
+ * respected for data classes and a large object stops being serialized as
+ * soon as the budget is used up. [GsonConverter] and [JacksonConverter]
+ * write as they go, converters that only produce a whole string, like
+ * [FastJsonConverter], are cut after serializing.
+ *
+ * - No more than [maxElements] elements of a collection are written, the
+ *   rest is replaced by `"... N more"`.
+ * - Containers nested deeper than [maxDepth] are written as `"..."`.
+ * - Once the output reaches [maxLength] chars, the remaining elements are
+ *   skipped and strings are cut with [ellipsis].
+ *
+ * ```kotlin
+ * val writer = JsonBudgetWriter(GsonConverter.getInstance(false), maxElements = 10)
+ * writer.write((0 until 1000).toList())
+ * ```
+ *
+ * @param converter Used for the objects without fast path, its
+ * [Converter.isPretty] decides whether the output is indented.
+ * @param maxLength Maximum number of chars of the output.
+ * @param maxDepth Maximum nesting depth of containers.
+ * @param maxElements Maximum number of elements written for a container.
+ * @param ellipsis Marks the content that is skipped.
+ * @see LogJson
+ * @since 1.3.11
+ */
+class JsonBudgetWriter @JvmOverloads constructor(
+    private val converter: Converter,
+    private val maxLength: Int = DEFAULT_MAX_JSON_LENGTH,
+    private val maxDepth: Int = DEFAULT_MAX_JSON_DEPTH,
+    private val maxElements: Int = DEFAULT_MAX_JSON_ELEMENTS,
+    private val ellipsis: String = "..."
+) {
+
+    init {
+        require(maxLength > 0) { "maxLength($maxLength) should be positive." }
+        require(maxDepth > 0) { "maxDepth($maxDepth) should be positive." }
+        require(maxElements > 0) { "maxElements($maxElements) should be positive." }
+    }
+
+    /**
+     * Write [data] as json within the budget.
+     *
+     * @since 1.3.11
+     */
+    fun write(data: Any?): String {
+        val writer = Writer(StringBuilder(minOf(maxLength, 256)))
+        writer.writeValue(data, 0)
+        return writer.out.toString()
+    }
+
+    /**
+     * The state of a single [write] call.
+     *
+     * @property exhausted True if the output has reached [maxLength].
+     * @since 1.3.11
+     */
+    private inner class Writer(val out: StringBuilder) {
+        private var exhausted = false
+
+        fun writeValue(value: Any?, depth: Int) {
+            when (value) {
+                null -> out.append("null")
+                is Boolean -> out.append(value)
+                is Number -> writeNumber(value)
+                is Char, is CharSequence -> writeString(value.toString())
+                is Map<*, *> -> {
+                    val iterator = value.entries.iterator()
+                    writeContainer('{', '}', value.size, depth, iterator::hasNext) {
+                        val entry = iterator.next()
+                        writeString(entry.key.toString())
+                        out.append(if (converter.isPretty) ": " else ":")
+                        writeValue(entry.value, depth + 1)
+                    }
+                }
+
+                is Iterable<*> -> {
+                    val size = if (value is Collection<*>) value.size else -1
+                    val iterator = value.iterator()
+                    writeContainer('[', ']', size, depth, iterator::hasNext) {
+                        writeValue(iterator.next(), depth + 1)
+                    }
+                }
+
+                is Array<*> -> writeArray(value.size, depth) { writeValue(value[it], depth + 1) }
+                is IntArray -> writeArray(value.size, depth) { out.append(value[it]) }
+                is LongArray -> writeArray(value.size, depth) { out.append(value[it]) }
+                is ShortArray -> writeArray(value.size, depth) { out.append(value[it].toInt()) }
+                is ByteArray -> writeArray(value.size, depth) { out.append(value[it].toInt()) }
+                is DoubleArray -> writeArray(value.size, depth) { writeDouble(value[it]) }
+                is FloatArray -> writeArray(value.size, depth) { writeFloat(value[it]) }
+                is BooleanArray -> writeArray(value.size, depth) { out.append(value[it]) }
+                is CharArray -> writeArray(value.size, depth) { writeString(value[it].toString()) }
+                else -> writeObject(value, depth)
+            }
+        }
+
+        private inline fun writeArray(size: Int, depth: Int, writeElement: (Int) -> Unit) {
+            var index = 0
+            writeContainer('[', ']', size, depth, { index < size }) { writeElement(index++) }
+        }
+
+        /**
+         * Write a container with [size] elements, `-1` if unknown. The
+         * next element is written by [writeNext] while [hasNext] returns
+         * true.
+         */
+        private inline fun writeContainer(
+            open: Char,
+            close: Char,
+            size: Int,
+            depth: Int,
+            hasNext: () -> Boolean,
+            writeNext: () -> Unit
+        ) {
+            if (!hasNext()) {
+                out.append(open).append(close)
+                return
+            }
+            if (depth >= maxDepth) {
+                writeString(ellipsis, limited = false)
+                return
+            }
+            out.append(open)
+            var count = 0
+            while (hasNext()) {
+                if (count > 0) out.append(',')
+                newLine(depth + 1)
+                if (exhausted || count >= maxElements || out.length >= maxLength) {
+                    exhausted = exhausted || out.length >= maxLength
+                    val skipped = if (size < 0) ellipsis else "$ellipsis ${size - count} more"
+                    if (open == '{') {
+                        // Keep the object valid by writing the placeholder as an entry.
+                        writeString(ellipsis, limited = false)
+                        out.append(if (converter.isPretty) ": " else ":")
+                    }
+                    writeString(skipped, limited = false)
+                    break
+                }
+                writeNext()
+                count++
+            }
+            newLine(depth)
+            out.append(close)
+        }
+
+        private fun writeNumber(number: Number) = when (number) {
+            is Double -> writeDouble(number)
+            is Float -> writeFloat(number)
+            else -> out.append(number.toString())
+        }
+
+        private fun writeDouble(value: Double) {
+            if (value.isFinite()) out.append(value) else writeString(value.toString())
+        }
+
+        private fun writeFloat(value: Float) {
+            if (value.isFinite()) out.append(value) else writeString(value.toString())
+        }
+
+        /**
+         * Write [value] as json string, it is cut by [maxLength] if
+         * [limited] is true.
+         */
+        private fun writeString(value: String, limited: Boolean = true) {
+            val remaining = maxLength - out.length
+            val end = if (limited && value.length > remaining) {
+                exhausted = true
+                maxOf(remaining, 0)
+            } else value.length
+            out.append('"')
+            for (index in 0 until end) {
+                when (val char = value[index]) {
+                    '"' -> out.append("\\\"")
+                    '\\' -> out.append("\\\\")
+                    '\n' -> out.append("\\n")
+                    '\r' -> out.append("\\r")
+                    '\t' -> out.append("\\t")
+                    '\b' -> out.append("\\b")
+                    '\u000C' -> out.append("\\f")
+                    else -> if (char < ' ') {
+                        out.append("\\u").append(String.format("%04x", char.code))
+                    } else {
+                        out.append(char)
+                    }
+                }
+            }
+            if (end < value.length) out.append(ellipsis)
+            out.append('"')
+        }
+
+        /**
+         * Stream [value] through [converter] into [out] at [depth]. If the
+         * converter fails, `value.toString()` is written instead.
+         */
+        private fun writeObject(value: Any, depth: Int) {
+            val start = out.length
+            val writer = BoundedWriter(if (converter.isPretty) depth * INDENT else 0)
+            try {
+                converter.toJson(value, writer)
+            } catch (exception: Exception) {
+                if (writer.cut) {
+                    out.append(ellipsis)
+                } else {
+                    out.setLength(start)
+                    writeRaw(value.toString(), depth)
+                }
+            }
+        }
+
+        /** Append [json] at [depth], it is cut by [maxLength]. */
+        private fun writeRaw(json: String, depth: Int) {
+            val text = if (converter.isPretty && depth > 0 && json.contains('\n')) {
+                json.replace("\n", "\n" + " ".repeat(depth * INDENT))
+            } else json
+            val remaining = maxLength - out.length
+            if (text.length > remaining) {
+                exhausted = true
+                out.append(text, 0, maxOf(remaining, 0)).append(ellipsis)
+            } else {
+                out.append(text)
+            }
+        }
+
+        private fun newLine(depth: Int) {
+            if (!converter.isPretty) return
+            out.append('\n')
+            repeat(depth * INDENT) { out.append(' ') }
+        }
+
+        /**
+         * Appends to [out] and indents each new line by [indent] spaces.
+         * It throws [BudgetExhaustedException] once [out] reaches
+         * [maxLength], which aborts the converter.
+         *
+         * @property cut True if the output has been cut.
+         */
+        private inner class BoundedWriter(private val indent: Int) : java.io.Writer() {
+            var cut = false
+                private set
+
+            override fun write(cbuf: CharArray, off: Int, len: Int) {
+                if (0 == indent) {
+                    val count = minOf(len, maxLength - out.length)
+                    if (count > 0) out.append(cbuf, off, count)
+                    if (count < len) exhaust()
+                } else {
+                    for (index in off until off + len) write(cbuf[index].code)
+                }
+            }
+
+            override fun write(str: String, off: Int, len: Int) {
+                if (0 == indent) {
+                    val count = minOf(len, maxLength - out.length)
+                    if (count > 0) out.append(str, off, off + count)
+                    if (count < len) exhaust()
+                } else {
+                    for (index in off until off + len) write(str[index].code)
+                }
+            }
+
+            override fun write(c: Int) {
+                if (out.length >= maxLength) exhaust()
+                out.append(c.toChar())
+                if ('\n'.code == c) repeat(indent) { out.append(' ') }
+            }
+
+            override fun flush() = Unit
+
+            override fun close() = Unit
+
+            private fun exhaust(): Nothing {
+                cut = true
+                exhausted = true
+                throw BudgetExhaustedException()
+            }
+        }
+    }
+
+    /** Thrown by the writer passed to [Converter.toJson] once it is full. */
+    private class BudgetExhaustedException : IOException("The json budget is used up.") {
+        // The stack trace is never used.
+        override fun fillInStackTrace(): Throwable = this
+    }
+
+    companion object {
+        /** Indent used when [Converter.isPretty] is true. */
+        private const val INDENT = 2
+    }
+}
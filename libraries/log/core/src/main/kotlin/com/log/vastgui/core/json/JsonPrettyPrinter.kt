@@ -0,0 +1,285 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.core.json
+
+import com.ave.vastgui.core.extension.nothing_to_do
+import com.log.vastgui.core.plugin.LogPretty
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/10/27
+// Documentation: https://ave.entropy2020.cn/documents/log/log-core/plugin/pretty/
+
+/**
+ * Default maximum number of chars produced by [JsonPrettyPrinter].
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_MAX_PRETTY_LENGTH = 64 * 1024
+
+/**
+ * A token level json re-indenter. Unlike [Converter.parseString], it
+ * neither builds a json tree nor serializes it again, the json string is
+ * indented in a single pass over its chars.
+ *
+ * - A string whose first non-whitespace char is not `{` or `[` is
+ *   returned as is without being scanned.
+ * - If the string turns out not to be json (for example `[1] failed`,
+ *   `{"a":[1}]` or `{a:1}`), the original string is returned. Brackets,
+ *   keys, colons and commas are checked, while numbers are only checked
+ *   to be made of number chars.
+ * - The output is capped at [maxLength] chars, the remaining input is not
+ *   scanned and [ellipsis] is appended instead.
+ *
+ * ```kotlin
+ * val printer = JsonPrettyPrinter()
+ * printer.print("{\"name\":\"Alice\",\"tags\":[1,2]}")
+ * ```
+ *
+ * @param indent The number of spaces used for each level of indentation.
+ * @param maxLength Maximum number of chars of the output.
+ * @param ellipsis Appended to the output when it is truncated.
+ * @see LogPretty
+ * @since 1.3.11
+ */
+class JsonPrettyPrinter @JvmOverloads constructor(
+    private val indent: Int = 2,
+    private val maxLength: Int = DEFAULT_MAX_PRETTY_LENGTH,
+    private val ellipsis: String = "..."
+) {
+
+    init {
+        require(indent >= 0) { "indent($indent) should not be negative." }
+        require(maxLength > 0) { "maxLength($maxLength) should be positive." }
+    }
+
+    /**
+     * Return [json] in pretty style, or [json] itself if it is not a json
+     * object or array.
+     *
+     * @since 1.3.11
+     */
+    fun print(json: String): String {
+        val start = firstNonWhitespace(json)
+        if (start == -1) return json
+        val first = json[start]
+        if (first != '{' && first != '[') return json
+        val end = lastNonWhitespace(json)
+        val last = json[end]
+        if ((first == '{' && last != '}') || (first == '[' && last != ']')) return json
+        return reindent(json, start, end + 1) ?: json
+    }
+
+    /**
+     * Indent `json[start, end)`.
+     *
+     * @return The pretty string, or `null` if the content is not json.
+     * @since 1.3.11
+     */
+    private fun reindent(json: String, start: Int, end: Int): String? {
+        val out = StringBuilder(minOf(json.length * 2, maxLength + ellipsis.length))
+        // The open brackets, the last one is the innermost container.
+        val containers = StringBuilder()
+        var expect = EXPECT_VALUE
+        var index = start
+        while (index < end) {
+            if (out.length > maxLength) {
+                out.setLength(maxLength)
+                return out.append(ellipsis).toString()
+            }
+            val char = json[index]
+            when {
+                char == '"' -> {
+                    if (expect != EXPECT_KEY && expect != EXPECT_VALUE) return null
+                    val close = stringEnd(json, index, end)
+                    if (close == -1) return null
+                    out.append(json, index, close + 1)
+                    expect = if (expect == EXPECT_KEY) EXPECT_COLON else EXPECT_COMMA
+                    index = close + 1
+                    continue
+                }
+
+                char == '{' || char == '[' -> {
+                    if (expect != EXPECT_VALUE) return null
+                    val next = nextNonWhitespace(json, index + 1, end)
+                    if (next == -1) return null
+                    out.append(char)
+                    val close = if (char == '{') '}' else ']'
+                    if (json[next] == close) {
+                        // Keep empty object or array in one line.
+                        out.append(close)
+                        expect = EXPECT_COMMA
+                        index = next + 1
+                        if (containers.isEmpty()) return trailing(json, index, end, out)
+                        continue
+                    }
+                    containers.append(char)
+                    expect = if (char == '{') EXPECT_KEY else EXPECT_VALUE
+                    newLine(out, containers.length)
+                }
+
+                char == '}' || char == ']' -> {
+                    if (expect != EXPECT_COMMA || containers.isEmpty()) return null
+                    val open = containers[containers.lastIndex]
+                    if ((open == '{') != (char == '}')) return null
+                    containers.setLength(containers.lastIndex)
+                    newLine(out, containers.length)
+                    out.append(char)
+                    if (containers.isEmpty()) return trailing(json, index + 1, end, out)
+                }
+
+                char == ',' -> {
+                    if (expect != EXPECT_COMMA || containers.isEmpty()) return null
+                    out.append(char)
+                    expect = if (containers[containers.lastIndex] == '{') EXPECT_KEY else EXPECT_VALUE
+                    newLine(out, containers.length)
+                }
+
+                char == ':' -> {
+                    if (expect != EXPECT_COLON) return null
+                    out.append(": ")
+                    expect = EXPECT_VALUE
+                }
+
+                char.isWhitespace() -> nothing_to_do()
+
+                char == '-' || char in '0'..'9' -> {
+                    if (expect != EXPECT_VALUE) return null
+                    val tokenEnd = tokenEnd(json, index, end) { it.isNumberChar() }
+                    out.append(json, index, tokenEnd)
+                    expect = EXPECT_COMMA
+                    index = tokenEnd
+                    continue
+                }
+
+                char in 'a'..'z' -> {
+                    if (expect != EXPECT_VALUE) return null
+                    val tokenEnd = tokenEnd(json, index, end) { it in 'a'..'z' }
+                    if (!json.isLiteral(index, tokenEnd)) return null
+                    out.append(json, index, tokenEnd)
+                    expect = EXPECT_COMMA
+                    index = tokenEnd
+                    continue
+                }
+
+                else -> return null
+            }
+            index++
+        }
+        return null
+    }
+
+    /**
+     * Nothing but whitespace is allowed after the root object or array.
+     *
+     * @since 1.3.11
+     */
+    private fun trailing(json: String, index: Int, end: Int, out: StringBuilder): String? =
+        if (nextNonWhitespace(json, index, end) == -1) out.toString() else null
+
+    /** @since 1.3.11 */
+    private fun newLine(out: StringBuilder, depth: Int) {
+        out.append('\n')
+        repeat(depth * indent) { out.append(' ') }
+    }
+
+    companion object {
+        /**
+         * The next token should be a key of an object.
+         *
+         * @since 1.3.11
+         */
+        private const val EXPECT_KEY = 0
+
+        /**
+         * The next token should be the `:` after a key.
+         *
+         * @since 1.3.11
+         */
+        private const val EXPECT_COLON = 1
+
+        /**
+         * The next token should be a value.
+         *
+         * @since 1.3.11
+         */
+        private const val EXPECT_VALUE = 2
+
+        /**
+         * The next token should be a `,` or the close bracket.
+         *
+         * @since 1.3.11
+         */
+        private const val EXPECT_COMMA = 3
+
+        /** @since 1.3.11 */
+        private val literals = arrayOf("true", "false", "null")
+
+        /**
+         * Return the index of the quote that closes the string starting at
+         * [start], or -1 if the string is not closed.
+         *
+         * @since 1.3.11
+         */
+        private fun stringEnd(json: String, start: Int, end: Int): Int {
+            var index = start + 1
+            while (index < end) {
+                when (json[index]) {
+                    '\\' -> index++
+                    '"' -> return index
+                    '\n' -> return -1
+                }
+                index++
+            }
+            return -1
+        }
+
+        /** @since 1.3.11 */
+        private inline fun tokenEnd(json: String, start: Int, end: Int, predicate: (Char) -> Boolean): Int {
+            var index = start
+            while (index < end && predicate(json[index])) index++
+            return index
+        }
+
+        /** @since 1.3.11 */
+        private fun Char.isNumberChar() =
+            this in '0'..'9' || this == '-' || this == '+' || this == '.' || this == 'e' || this == 'E'
+
+        /** @since 1.3.11 */
+        private fun String.isLiteral(start: Int, end: Int) =
+            literals.any { end - start == it.length && regionMatches(start, it, 0, it.length) }
+
+        /** @since 1.3.11 */
+        private fun firstNonWhitespace(json: String) = nextNonWhitespace(json, 0, json.length)
+
+        /** @since 1.3.11 */
+        private fun nextNonWhitespace(json: String, start: Int, end: Int): Int {
+            for (index in start until end) {
+                if (!json[index].isWhitespace()) return index
+            }
+            return -1
+        }
+
+        /** @since 1.3.11 */
+        private fun lastNonWhitespace(json: String): Int {
+            for (index in json.lastIndex downTo 0) {
+                if (!json[index].isWhitespace()) return index
+            }
+            return -1
+        }
+    }
+}
@@ -20,6 +20,10 @@ import com.log.vastgui.core.LogPipeline
 import com.log.vastgui.core.LogCat
 import com.log.vastgui.core.base.LogPlugin
 import com.log.vastgui.core.json.Converter
+import com.log.vastgui.core.json.DEFAULT_MAX_JSON_DEPTH
+import com.log.vastgui.core.json.DEFAULT_MAX_JSON_ELEMENTS
+import com.log.vastgui.core.json.DEFAULT_MAX_JSON_LENGTH
+import com.log.vastgui.core.json.JsonBudgetWriter
 import kotlin.properties.Delegates
 
 // Author: Vast Gui
@@ -30,6 +34,11 @@ import kotlin.properties.Delegates
 /**
  * The [LogJson] plugin allows you to convert objects to json.
  *
+ * Since **1.3.11**, objects are written by [JsonBudgetWriter], which
+ * stops as soon as [Configuration.maxLength], [Configuration.maxDepth] or
+ * [Configuration.maxElements] is reached instead of serializing the whole
+ * object graph.
+ *
  * ```json
  * private val gsonConverter = GsonConverter.getInstance(true)
  *
@@ -37,6 +46,7 @@ import kotlin.properties.Delegates
  *     ...
  *     install(LogJson) {
  *         converter = gsonConverter
+ *         maxElements = 100
  *     }
  * }
  * ```
@@ -45,20 +55,39 @@ import kotlin.properties.Delegates
  */
 class LogJson private constructor(mConfiguration: Configuration) {
 
-    private val mConverter: Converter = mConfiguration.converter
+    private val mWriter: JsonBudgetWriter = JsonBudgetWriter(
+        mConfiguration.converter,
+        mConfiguration.maxLength,
+        mConfiguration.maxDepth,
+        mConfiguration.maxElements
+    )
 
     /**
      * Configuration of [LogJson].
      *
      * @property converter The json converter.
+     * @property maxLength Maximum number of chars of the json.
+     * @property maxDepth Maximum nesting depth of maps, collections and
+     * arrays.
+     * @property maxElements Maximum number of elements written for a
+     * single map, collection or array.
      * @since 0.5.3
      */
     class Configuration internal constructor() {
         var converter: Converter by Delegates.notNull()
+
+        /** @since 1.3.11 */
+        var maxLength: Int = DEFAULT_MAX_JSON_LENGTH
+
+        /** @since 1.3.11 */
+        var maxDepth: Int = DEFAULT_MAX_JSON_DEPTH
+
+        /** @since 1.3.11 */
+        var maxElements: Int = DEFAULT_MAX_JSON_ELEMENTS
     }
 
     /** @since 1.3.8 */
-    private fun toJson(data: Any): String = mConverter.toJson(data)
+    private fun toJson(data: Any): String = mWriter.write(data)
 
     companion object : LogPlugin<Configuration, LogJson> {
 
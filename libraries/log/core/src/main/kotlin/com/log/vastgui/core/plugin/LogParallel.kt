@@ -0,0 +1,274 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.core.plugin
+
+import com.log.vastgui.core.LogCat
+import com.log.vastgui.core.LogPipeline
+import com.log.vastgui.core.base.LogPlugin
+import com.log.vastgui.core.pipeline.PipelinePhase
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.RejectedExecutionHandler
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/2
+// Documentation: https://ave.entropy2020.cn/documents/log/log-core/plugin/parallel/
+
+/**
+ * Default capacity of the queue of [LogParallel.Dispatcher].
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_PARALLEL_CAPACITY = 1024
+
+/**
+ * [LogParallel] runs [LogPipeline.Transform] and [LogPipeline.Render] of
+ * the logs on the worker threads of a [Dispatcher], so heavy plugins and
+ * formats such as [LogJson], [LogPretty] and the `TableFormat` scale with
+ * cores. [LogPipeline.Output] and the phases after it still run one log at
+ * a time and in the order the logs were sent.
+ *
+ * ```kotlin
+ * val logFactory: LogFactory = getLogFactory {
+ *     ...
+ *     install(LogParallel)
+ * }
+ * ```
+ *
+ * Every log that passes [LogPipeline.State] gets a sequence number and is
+ * executed again by a worker thread, so the interceptors of
+ * [LogPipeline.Before] and [LogPipeline.State] run twice and should not
+ * have side effects. Before [LogPipeline.Output] a worker waits until all
+ * logs with a smaller sequence number have been output.
+ *
+ * @since 1.3.11
+ */
+class LogParallel private constructor(mConfiguration: Configuration) {
+
+    private val mDispatcher: Dispatcher = mConfiguration.dispatcher
+
+    /**
+     * [LogParallel] configuration.
+     *
+     * @property dispatcher The dispatcher shared by all logcats, logs sent
+     * to different dispatchers are not ordered with each other.
+     * @since 1.3.11
+     */
+    class Configuration internal constructor() {
+        var dispatcher: Dispatcher = Dispatcher.default
+    }
+
+    /**
+     * Run logs on [threads] worker threads and output them in order.
+     *
+     * A log whose pipeline throws an exception is counted by
+     * [failedCount], an [Error] is rethrown once the turn of the log has
+     * passed to the next log.
+     *
+     * @param threads The number of worker threads.
+     * @param capacity Capacity of the queue, the sender is blocked when the
+     * queue is full.
+     * @since 1.3.11
+     */
+    class Dispatcher @JvmOverloads constructor(
+        threads: Int = maxOf(1, Runtime.getRuntime().availableProcessors() - 1),
+        capacity: Int = DEFAULT_PARALLEL_CAPACITY
+    ) {
+
+        init {
+            require(threads > 0) { "threads($threads) should be positive." }
+            require(capacity > 0) { "capacity($capacity) should be positive." }
+        }
+
+        /**
+         * The sequence number of a log.
+         *
+         * @property isHolding `true` while the log is in its turn.
+         * @property isReleased `true` once the turn has passed to the next
+         * log.
+         */
+        private class Ticket(val sequence: Long) {
+            var isHolding = false
+            var isReleased = false
+        }
+
+        private val mSubmitLock = Any()
+
+        private val mTurnLock = Object()
+
+        /** Guarded by [mSubmitLock]. */
+        private var mNextSequence = 0L
+
+        /** Guarded by [mTurnLock]. */
+        private var mNextTurn = 0L
+
+        private val mTicket = ThreadLocal<Ticket?>()
+
+        private val mFailed = AtomicLong(0)
+
+        private val mExecutor: ThreadPoolExecutor = ThreadPoolExecutor(
+            threads, threads, 0L, TimeUnit.MILLISECONDS,
+            // Tasks have to start in the order they are submitted, which
+            // a FIFO queue guarantees.
+            ArrayBlockingQueue(capacity),
+            WorkerFactory(),
+            RejectedExecutionHandler { runnable, executor -> executor.queue.put(runnable) }
+        )
+
+        /**
+         * The number of logs whose pipeline failed with an exception.
+         *
+         * @since 1.3.11
+         */
+        val failedCount: Long
+            get() = mFailed.get()
+
+        /** `true` if the current thread is running a log. */
+        internal val isWorkerThread: Boolean
+            get() = null != mTicket.get()
+
+        /**
+         * Give [task] the next sequence number and run it on a worker
+         * thread.
+         */
+        internal fun submit(task: () -> Unit) {
+            synchronized(mSubmitLock) {
+                val ticket = Ticket(mNextSequence++)
+                mExecutor.execute { run(ticket, task) }
+            }
+        }
+
+        /**
+         * Run [block] when all logs before the log of the current thread
+         * have finished [block].
+         */
+        internal fun <T> inTurn(block: () -> T): T {
+            val ticket = mTicket.get()
+            // Not dispatched, or a log sent while outputting another log.
+            if (null == ticket || ticket.isHolding || ticket.isReleased) return block()
+            awaitTurn(ticket)
+            ticket.isHolding = true
+            try {
+                return block()
+            } finally {
+                ticket.isHolding = false
+                release(ticket)
+            }
+        }
+
+        /**
+         * Wait until all submitted logs have been output.
+         *
+         * @return `true` if all logs are output before [timeoutMillis].
+         * @since 1.3.11
+         */
+        fun awaitIdle(timeoutMillis: Long): Boolean {
+            val last = synchronized(mSubmitLock) { mNextSequence }
+            val deadline = System.currentTimeMillis() + timeoutMillis
+            synchronized(mTurnLock) {
+                while (mNextTurn < last) {
+                    val remaining = deadline - System.currentTimeMillis()
+                    if (remaining <= 0) return false
+                    mTurnLock.wait(remaining)
+                }
+            }
+            return true
+        }
+
+        private fun run(ticket: Ticket, task: () -> Unit) {
+            mTicket.set(ticket)
+            try {
+                task()
+            } catch (exception: Exception) {
+                mFailed.incrementAndGet()
+            } finally {
+                // The log may have been finished before Output, its turn
+                // still has to be passed on.
+                if (!ticket.isReleased) {
+                    awaitTurn(ticket)
+                    release(ticket)
+                }
+                mTicket.remove()
+            }
+        }
+
+        private fun awaitTurn(ticket: Ticket) = synchronized(mTurnLock) {
+            while (mNextTurn != ticket.sequence) mTurnLock.wait()
+        }
+
+        private fun release(ticket: Ticket) = synchronized(mTurnLock) {
+            ticket.isReleased = true
+            mNextTurn++
+            mTurnLock.notifyAll()
+        }
+
+        private class WorkerFactory : ThreadFactory {
+            private val mCount = AtomicInteger(0)
+
+            override fun newThread(runnable: Runnable): Thread =
+                Thread(runnable, "LogParallel-${mCount.incrementAndGet()}").apply { isDaemon = true }
+        }
+
+        companion object {
+            /**
+             * The dispatcher used by default.
+             *
+             * @since 1.3.11
+             */
+            val default: Dispatcher by lazy { Dispatcher() }
+        }
+    }
+
+    companion object : LogPlugin<Configuration, LogParallel> {
+
+        /** @since 1.3.11 */
+        val Dispatch: PipelinePhase = PipelinePhase("Dispatch")
+
+        /** @since 1.3.11 */
+        val Reorder: PipelinePhase = PipelinePhase("Reorder")
+
+        override val key: String = LogParallel::class.java.simpleName
+
+        override fun install(plugin: LogParallel, scope: LogCat) {
+            scope.logPipeline.insertPhaseAfter(LogPipeline.State, Dispatch)
+            scope.logPipeline.insertPhaseBefore(LogPipeline.Output, Reorder)
+            scope.logPipeline.intercept(Dispatch) {
+                if (plugin.mDispatcher.isWorkerThread) {
+                    proceed()
+                    return@intercept
+                }
+                val logcat = context
+                val factory = subject
+                plugin.mDispatcher.submit { logcat.logPipeline.execute(logcat, factory) }
+                finish()
+            }
+            scope.logPipeline.intercept(Reorder) {
+                plugin.mDispatcher.inTurn { proceed() }
+            }
+        }
+
+        override fun configuration(config: Configuration.() -> Unit): LogParallel {
+            val configuration = Configuration().also(config)
+            return LogParallel(configuration)
+        }
+    }
+}
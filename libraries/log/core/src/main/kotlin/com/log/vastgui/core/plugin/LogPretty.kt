@@ -20,7 +20,8 @@ import com.log.vastgui.core.LogCat
 import com.log.vastgui.core.LogPipeline
 import com.log.vastgui.core.base.LogPlugin
 import com.log.vastgui.core.json.Converter
-import kotlin.properties.Delegates
+import com.log.vastgui.core.json.DEFAULT_MAX_PRETTY_LENGTH
+import com.log.vastgui.core.json.JsonPrettyPrinter
 
 // Author: Vast Gui
 // Email: guihy2019@gmail.com
@@ -30,14 +31,18 @@ import kotlin.properties.Delegates
 /**
  * [LogPretty] allows printing the json string in the log in pretty style.
  *
- * ```kotlin
- * private val gsonConverter = GsonConverter.getInstance(true)
+ * Since **1.3.11**, if [Configuration.converter] is not set, [LogPretty]
+ * indents json by [JsonPrettyPrinter] instead of parsing it into a tree
+ * by [Converter.parseString]. Content that is not json object or array
+ * is skipped by checking its first non-whitespace char.
  *
+ * ```kotlin
  * @JvmField
  * val logFactory: LogFactory = getLogFactory {
  *     ....
  *     install(LogPretty) {
- *         converter = gsonConverter
+ *         indent = 4
+ *         maxLength = 16 * 1024
  *     }
  * }
  * ```
@@ -46,14 +51,36 @@ import kotlin.properties.Delegates
  */
 class LogPretty private constructor(mConfiguration: Configuration) {
 
-    private val mConverter: Converter = mConfiguration.converter
+    private val mConverter: Converter? = mConfiguration.converter
+
+    private val mPrinter: JsonPrettyPrinter =
+        JsonPrettyPrinter(mConfiguration.indent, mConfiguration.maxLength)
 
+    /**
+     * Configuration of [LogPretty].
+     *
+     * @property converter The converter that parses and prints the json,
+     * `null` to indent json by [JsonPrettyPrinter]. (nullable since 1.3.11)
+     * @property indent The number of spaces used for each level of
+     * indentation, ignored if [converter] is set.
+     * @property maxLength Maximum number of chars of the pretty content, the
+     * rest of the content will be replaced by an ellipsis. Ignored if
+     * [converter] is set.
+     * @since 1.3.4
+     */
     class Configuration internal constructor() {
-        var converter: Converter by Delegates.notNull()
+        var converter: Converter? = null
+
+        /** @since 1.3.11 */
+        var indent: Int = 2
+
+        /** @since 1.3.11 */
+        var maxLength: Int = DEFAULT_MAX_PRETTY_LENGTH
     }
 
-    /** @since 1.3.8 */
-    private fun parseString(json: String): Any = mConverter.parseString(json)
+    /** @since 1.3.11 */
+    private fun print(json: String): String =
+        mConverter?.parseString(json)?.toString() ?: mPrinter.print(json)
 
     companion object : LogPlugin<Configuration, LogPretty> {
 
@@ -62,10 +89,9 @@ class LogPretty private constructor(mConfiguration: Configuration) {
         override fun install(plugin: LogPretty, scope: LogCat) {
             scope.logPipeline.intercept(LogPipeline.Render) {
                 val rawContent = subject.getStringContent()
-                // Try to render the log content and return the
-                // original content if an exception occurs.
-                val content = plugin.parseString(rawContent)
-                subject.setStringContent(content.toString())
+                // The original content is returned if it is not json.
+                val content = plugin.print(rawContent)
+                subject.setStringContent(content)
                 proceedWith(subject)
             }
         }
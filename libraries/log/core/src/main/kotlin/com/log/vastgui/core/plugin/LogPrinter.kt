@@ -16,16 +16,12 @@
 
 package com.log.vastgui.core.plugin
 
+import com.ave.vastgui.core.collections.BitMask
 import com.log.vastgui.core.LogCat
 import com.log.vastgui.core.LogPipeline
 import com.log.vastgui.core.base.LogInfo
 import com.log.vastgui.core.base.LogLevel
-import com.log.vastgui.core.base.LogLevel.ASSERT
-import com.log.vastgui.core.base.LogLevel.DEBUG
-import com.log.vastgui.core.base.LogLevel.ERROR
-import com.log.vastgui.core.base.LogLevel.INFO
 import com.log.vastgui.core.base.LogLevel.VERBOSE
-import com.log.vastgui.core.base.LogLevel.WARN
 import com.log.vastgui.core.base.LogPlugin
 import com.log.vastgui.core.base.Logger
 import com.log.vastgui.core.base.allLogLevel
@@ -49,10 +45,7 @@ class LogPrinter private constructor(private val mConfiguration: Configuration)
      *
      * @since 1.3.4
      */
-    private val mLevelMap: MutableMap<LogLevel, Boolean> = mutableMapOf(
-        VERBOSE to false, DEBUG to false, INFO to false,
-        WARN to false, ERROR to false, ASSERT to false
-    )
+    private val mLevels = BitMask()
 
     /**
      * [LogPrinter] configuration.
@@ -87,12 +80,12 @@ class LogPrinter private constructor(private val mConfiguration: Configuration)
         // Use level
         if (mConfiguration.levelSet.isEmpty()) {
             allLogLevel.filter { level -> level >= mConfiguration.level }
-                .forEach { mLevelMap[it] = true }
+                .forEach { mLevels.add(it.priority) }
         }
         // Use levelList
         else {
             mConfiguration.levelSet.forEach {
-                mLevelMap[it] = true
+                mLevels.add(it.priority)
             }
         }
     }
@@ -106,13 +99,14 @@ class LogPrinter private constructor(private val mConfiguration: Configuration)
         }
 
         override fun install(plugin: LogPrinter, scope: LogCat) {
+            scope.filterLevels { it.priority in plugin.mLevels }
             scope.logPipeline.intercept(LogPipeline.State) {
-                if (plugin.mLevelMap[subject.level] == false) {
+                if (subject.level.priority !in plugin.mLevels) {
                     finish()
                 }
             }
             scope.logPipeline.intercept(LogPipeline.Output) {
-                val logInfo = subject.build()
+                val logInfo = subject.buildIfAbsent()
                 plugin.printLog(logInfo)
                 proceed()
             }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.core.plugin
+
+import com.log.vastgui.core.LogCat
+import com.log.vastgui.core.LogPipeline
+import com.log.vastgui.core.base.LogFormat
+import com.log.vastgui.core.base.LogInfo
+import com.log.vastgui.core.base.LogLevel
+import com.log.vastgui.core.base.LogPlugin
+import com.log.vastgui.core.base.LogSink
+import com.log.vastgui.core.internel.RoutedLog
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/10/31
+// Documentation: https://ave.entropy2020.cn/documents/log/log-core/plugin/router/
+
+/**
+ * [LogRouter] sends every log to several [LogSink], each with its own
+ * levels, format and queue.
+ *
+ * ```kotlin
+ * private val console = LogSink.of(Logger.desktop(), "console")
+ * private val file = LogSink.of(LogStore.desktop("", 1024L * 1000), "file", setOf(LogLevel.ERROR))
+ *
+ * val logFactory: LogFactory = getLogFactory {
+ *     ...
+ *     install(LogRouter) {
+ *         sink(console)
+ *         sink(file)
+ *     }
+ * }
+ * ```
+ *
+ * A log that no sink accepts is finished in [LogPipeline.State], before
+ * it is transformed. The content is formatted once for each distinct
+ * [LogFormat] among the sinks, lazily on the first sink thread that needs
+ * it.
+ *
+ * @since 1.3.11
+ */
+class LogRouter private constructor(mConfiguration: Configuration) {
+
+    private val mSinks: Array<LogSink> = mConfiguration.sinks.toTypedArray()
+
+    /** The distinct formats of [mSinks], compared by identity. */
+    private val mFormats: Array<LogFormat> = ArrayList<LogFormat>().apply {
+        mSinks.forEach { sink -> if (none { it === sink.logFormat }) add(sink.logFormat) }
+    }.toTypedArray()
+
+    /**
+     * [LogRouter] configuration.
+     *
+     * @since 1.3.11
+     */
+    class Configuration internal constructor() {
+        internal val sinks: MutableList<LogSink> = mutableListOf()
+
+        /**
+         * Send logs to [sink].
+         *
+         * @since 1.3.11
+         */
+        fun sink(sink: LogSink) {
+            sinks.add(sink)
+        }
+    }
+
+    /** @since 1.3.11 */
+    private fun isLoggable(level: LogLevel): Boolean = mSinks.any { it.isLoggable(level) }
+
+    /**
+     * Send [logInfo] to all sinks that accept its level.
+     *
+     * @since 1.3.11
+     */
+    private fun route(logInfo: LogInfo) {
+        val routed = RoutedLog(logInfo, mFormats)
+        for (sink in mSinks) {
+            if (sink.isLoggable(logInfo.level)) sink.offer(routed)
+        }
+    }
+
+    companion object : LogPlugin<Configuration, LogRouter> {
+
+        override val key: String = LogRouter::class.java.simpleName
+
+        override fun install(plugin: LogRouter, scope: LogCat) {
+            scope.filterLevels(plugin::isLoggable)
+            scope.logPipeline.intercept(LogPipeline.State) {
+                if (!plugin.isLoggable(subject.level)) {
+                    finish()
+                }
+            }
+            scope.logPipeline.intercept(LogPipeline.Output) {
+                plugin.route(subject.buildIfAbsent())
+                proceed()
+            }
+        }
+
+        override fun configuration(config: Configuration.() -> Unit): LogRouter {
+            val configuration = Configuration().also(config)
+            return LogRouter(configuration)
+        }
+    }
+}
@@ -16,16 +16,12 @@
 
 package com.log.vastgui.core.plugin
 
-import com.log.vastgui.core.LogPipeline
+import com.ave.vastgui.core.collections.BitMask
 import com.log.vastgui.core.LogCat
+import com.log.vastgui.core.LogPipeline
 import com.log.vastgui.core.base.LogInfo
 import com.log.vastgui.core.base.LogLevel
-import com.log.vastgui.core.base.LogLevel.ASSERT
-import com.log.vastgui.core.base.LogLevel.DEBUG
-import com.log.vastgui.core.base.LogLevel.ERROR
-import com.log.vastgui.core.base.LogLevel.INFO
 import com.log.vastgui.core.base.LogLevel.VERBOSE
-import com.log.vastgui.core.base.LogLevel.WARN
 import com.log.vastgui.core.base.LogPlugin
 import com.log.vastgui.core.base.LogStore
 import com.log.vastgui.core.pipeline.PipelinePhase
@@ -49,10 +45,7 @@ class LogStorage private constructor(private val mConfiguration: Configuration)
      *
      * @since 1.3.4
      */
-    private val mLevelMap: MutableMap<LogLevel, Boolean> = mutableMapOf(
-        VERBOSE to false, DEBUG to false, INFO to false,
-        WARN to false, ERROR to false, ASSERT to false
-    )
+    private val mLevels = BitMask()
 
     /**
      * [LogStorage] configuration.
@@ -88,12 +81,12 @@ class LogStorage private constructor(private val mConfiguration: Configuration)
         // Use level
         if (mConfiguration.levelSet.isEmpty()) {
             allLogLevel.filter { level -> level >= mConfiguration.level }
-                .forEach { mLevelMap[it] = true }
+                .forEach { mLevels.add(it.priority) }
         }
         // Use levelList
         else {
             mConfiguration.levelSet.forEach {
-                mLevelMap[it] = true
+                mLevels.add(it.priority)
             }
         }
     }
@@ -103,15 +96,16 @@ class LogStorage private constructor(private val mConfiguration: Configuration)
         override val key: String = LogStorage::class.java.simpleName
 
         override fun install(plugin: LogStorage, scope: LogCat) {
+            scope.filterLevels { it.priority in plugin.mLevels }
             scope.logPipeline.intercept(LogPipeline.State) {
-                if (plugin.mLevelMap[subject.level] == false) {
+                if (subject.level.priority !in plugin.mLevels) {
                     finish()
                 }
             }
             val store = PipelinePhase("Store")
             scope.logPipeline.insertPhaseAfter(LogPipeline.Output, store)
             scope.logPipeline.intercept(store) {
-                plugin.storeLog(subject.logInfo)
+                plugin.storeLog(subject.buildIfAbsent())
                 proceed()
             }
         }
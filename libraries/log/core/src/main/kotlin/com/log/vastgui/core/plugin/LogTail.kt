@@ -0,0 +1,212 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.core.plugin
+
+import com.log.vastgui.core.LogCat
+import com.log.vastgui.core.LogPipeline
+import com.log.vastgui.core.base.LogInfoFactory
+import com.log.vastgui.core.base.LogLevel
+import com.log.vastgui.core.base.LogLevel.DEBUG
+import com.log.vastgui.core.base.LogLevel.ERROR
+import com.log.vastgui.core.base.LogLevel.VERBOSE
+import com.log.vastgui.core.base.LogPlugin
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/1
+// Documentation: https://ave.entropy2020.cn/documents/log/log-core/plugin/tail/
+
+/**
+ * Default maximum number of logs buffered by a [LogTail.Scope].
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_TAIL_CAPACITY = 64
+
+/**
+ * [LogTail] buffers low level logs inside a scope and only sends them on
+ * if something goes wrong in the scope.
+ *
+ * Inside [scope] (or a coroutine with [tailContext]), logs of
+ * [Configuration.levelSet] are kept in the buffer of the scope. When a log
+ * of [Configuration.triggerLevel] or higher is sent inside the scope, the
+ * buffered logs are sent first, in order, followed by the log itself. The
+ * logs sent after that are no longer buffered. If the scope completes
+ * normally, the buffered logs are discarded.
+ *
+ * ```kotlin
+ * val logFactory: LogFactory = getLogFactory {
+ *     ...
+ *     install(LogTail)
+ * }
+ *
+ * logcat.scope {
+ *     logcat.d("request {}", request)   // Buffered
+ *     logcat.e("request failed")        // Sends the debug log, then this one
+ * }
+ * ```
+ *
+ * Lazy messages of the buffered logs are evaluated when they are sent,
+ * not when they are buffered.
+ *
+ * @since 1.3.11
+ */
+class LogTail private constructor(mConfiguration: Configuration) {
+
+    /** Whether the level is buffered, indexed by [LogLevel.priority]. */
+    private val mBufferedLevels = BooleanArray(LogLevel.ASSERT.priority + 1).also { levels ->
+        mConfiguration.levelSet.forEach { levels[it.priority] = true }
+    }
+
+    private val mTriggerLevel: LogLevel = mConfiguration.triggerLevel
+
+    /**
+     * [LogTail] configuration.
+     *
+     * @property levelSet Log levels buffered inside a scope.
+     * @property triggerLevel Logs of this level or higher send the
+     * buffered logs.
+     * @since 1.3.11
+     */
+    class Configuration internal constructor() {
+        var levelSet: Set<LogLevel> = setOf(VERBOSE, DEBUG)
+
+        var triggerLevel: LogLevel = ERROR
+    }
+
+    /**
+     * The buffer of a scope. It is bound to the current thread by
+     * [scope], or to the threads a coroutine runs on by [tailContext].
+     *
+     * @property capacity Maximum number of logs buffered, the oldest log
+     * is dropped when the buffer is full.
+     * @since 1.3.11
+     */
+    class Scope internal constructor(private val capacity: Int) {
+
+        init {
+            require(capacity > 0) { "capacity($capacity) should be positive." }
+        }
+
+        private val mLogs = ArrayDeque<Pair<LogCat, LogInfoFactory>>(minOf(capacity, 16))
+
+        /** `true` once the buffer has been sent. */
+        private var isTriggered = false
+
+        /** `true` while the buffered logs are being sent. */
+        private var isFlushing = false
+
+        /**
+         * The number of logs dropped because the buffer was full.
+         *
+         * @since 1.3.11
+         */
+        var droppedCount: Int = 0
+            private set
+
+        /** Return `false` if the log should not be buffered. */
+        @Synchronized
+        internal fun offer(logcat: LogCat, factory: LogInfoFactory): Boolean {
+            if (isTriggered || isFlushing) return false
+            if (mLogs.size >= capacity) {
+                mLogs.removeFirst()
+                droppedCount++
+            }
+            mLogs.addLast(logcat to factory)
+            return true
+        }
+
+        /** Send the buffered logs in order. */
+        internal fun flush() {
+            val logs = synchronized(this) {
+                if (isFlushing) return
+                isTriggered = true
+                isFlushing = true
+                mLogs.toList().also { mLogs.clear() }
+            }
+            try {
+                logs.forEach { (logcat, factory) -> logcat.logPipeline.execute(logcat, factory) }
+            } finally {
+                synchronized(this) { isFlushing = false }
+            }
+        }
+
+        /** Drop the buffered logs. */
+        @Synchronized
+        internal fun discard() {
+            mLogs.clear()
+        }
+
+        internal companion object {
+            /** The scope of the current thread. */
+            val current = ThreadLocal<Scope?>()
+        }
+    }
+
+    companion object : LogPlugin<Configuration, LogTail> {
+
+        override val key: String = LogTail::class.java.simpleName
+
+        override fun install(plugin: LogTail, scope: LogCat) {
+            scope.logPipeline.intercept(LogPipeline.State) {
+                val tail = subject.tailScope
+                if (null == tail) {
+                    proceed()
+                    return@intercept
+                }
+                if (plugin.mBufferedLevels[subject.level.priority] && tail.offer(context, subject)) {
+                    finish()
+                    return@intercept
+                }
+                if (subject.level >= plugin.mTriggerLevel) {
+                    tail.flush()
+                }
+                proceed()
+            }
+        }
+
+        override fun configuration(config: Configuration.() -> Unit): LogTail {
+            val configuration = Configuration().also(config)
+            return LogTail(configuration)
+        }
+    }
+}
+
+/**
+ * Run [block] in a [LogTail.Scope] bound to the current thread. The
+ * buffered logs are discarded when [block] completes normally, and sent
+ * if [block] throws.
+ *
+ * @param capacity Maximum number of logs buffered.
+ * @see LogTail
+ * @since 1.3.11
+ */
+@JvmOverloads
+fun <T> LogCat.scope(capacity: Int = DEFAULT_TAIL_CAPACITY, block: () -> T): T {
+    val previous = LogTail.Scope.current.get()
+    val scope = LogTail.Scope(capacity)
+    LogTail.Scope.current.set(scope)
+    try {
+        return block()
+    } catch (throwable: Throwable) {
+        scope.flush()
+        throw throwable
+    } finally {
+        scope.discard()
+        LogTail.Scope.current.set(previous)
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.core.plugin
+
+import com.log.vastgui.core.LogCat
+import kotlinx.coroutines.ThreadContextElement
+import kotlin.coroutines.AbstractCoroutineContextElement
+import kotlin.coroutines.CoroutineContext
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/1
+// Documentation: https://ave.entropy2020.cn/documents/log/log-core/plugin/tail/
+
+/**
+ * Bind a [LogTail.Scope] to every thread the coroutine runs on. It needs
+ * `kotlinx-coroutines-core` at runtime.
+ *
+ * @see tailContext
+ * @since 1.3.11
+ */
+class LogTailElement internal constructor(
+    /** @since 1.3.11 */
+    val scope: LogTail.Scope
+) : ThreadContextElement<LogTail.Scope?>, AbstractCoroutineContextElement(Key) {
+
+    /** @since 1.3.11 */
+    companion object Key : CoroutineContext.Key<LogTailElement>
+
+    override fun updateThreadContext(context: CoroutineContext): LogTail.Scope? {
+        val previous = LogTail.Scope.current.get()
+        LogTail.Scope.current.set(scope)
+        return previous
+    }
+
+    override fun restoreThreadContext(context: CoroutineContext, oldState: LogTail.Scope?) {
+        LogTail.Scope.current.set(oldState)
+    }
+}
+
+/**
+ * Create a [LogTailElement] with a new [LogTail.Scope]. The buffered logs
+ * are dropped with the element when the coroutine completes.
+ *
+ * ```kotlin
+ * withContext(logcat.tailContext()) {
+ *     logcat.d("request {}", request)
+ *     ...
+ * }
+ * ```
+ *
+ * @param capacity Maximum number of logs buffered.
+ * @see LogTail
+ * @since 1.3.11
+ */
+@JvmOverloads
+fun LogCat.tailContext(capacity: Int = DEFAULT_TAIL_CAPACITY): LogTailElement =
+    LogTailElement(LogTail.Scope(capacity))
@@ -54,6 +54,15 @@ public class SimpleTest {
         logcat.e(new Exception(HELLO_WORLD));
     }
 
+    @Test
+    public void parameterizedUsage() {
+        logcat.d("user={} took={}ms", "Ming", 19);
+        logcat.d("user={}", "Ming");
+        logcat.d("user={} took={}ms at {}", "Ming", 19, System.currentTimeMillis());
+        logcat.d("escaped \\{} user={}", "Ming");
+        logcat.e("user={}", new Exception(HELLO_WORLD));
+    }
+
     public void objectUsage() {
 
     }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.core.internel
+
+import com.log.vastgui.core.base.LogInfo
+import com.log.vastgui.core.base.Logger
+import com.log.vastgui.core.getLogFactory
+import com.log.vastgui.core.plugin.LogPrinter
+import com.log.vastgui.core.plugin.LogSwitch
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/2
+
+class ParameterizedMessageTest {
+
+    private val logs = mutableListOf<LogInfo>()
+
+    private val logcat = getLogFactory {
+        install(LogSwitch) {
+            open = true
+        }
+        install(LogPrinter) {
+            logger = object : Logger {
+                override fun log(logInfo: LogInfo) {
+                    logs.add(logInfo)
+                }
+            }
+        }
+    }("ParameterizedMessageTest")
+
+    @Test
+    fun formatUsage() {
+        assertEquals("user=Ming", ParameterizedMessage("user={}", "Ming").format())
+        assertEquals("user=Ming took=19ms", ParameterizedMessage("user={} took={}ms", "Ming", 19).format())
+        assertEquals("1 2 3", ParameterizedMessage("{} {} {}", arrayOf<Any?>(1, 2, 3)).format())
+        assertEquals("no placeholder", ParameterizedMessage("no placeholder", arrayOf<Any?>()).format())
+    }
+
+    @Test
+    fun escapeUsage() {
+        assertEquals("{} user=Ming", ParameterizedMessage("\\{} user={}", "Ming").format())
+        assertEquals("user=Ming {}", ParameterizedMessage("user={} \\{}", "Ming", "Hong").format())
+    }
+
+    @Test
+    fun missingArgumentUsage() {
+        assertEquals("missing Ming {}", ParameterizedMessage("missing {} {}", "Ming").format())
+        assertEquals("missing 1 2 {}", ParameterizedMessage("missing {} {} {}", 1, 2).format())
+    }
+
+    @Test
+    fun extraArgumentUsage() {
+        assertEquals("user=Ming", ParameterizedMessage("user={}", "Ming", "Hong").format())
+        assertEquals("user", ParameterizedMessage("user", arrayOf<Any?>(1, 2, 3)).format())
+    }
+
+    @Test
+    fun arrayUsage() {
+        assertEquals(
+            "ages=[19, 20] names=[Ming, Hong]",
+            ParameterizedMessage("ages={} names={}", intArrayOf(19, 20), arrayOf("Ming", "Hong")).format()
+        )
+        val nested = arrayOf(intArrayOf(1, 2), intArrayOf(3))
+        assertEquals("[[1, 2], [3]]", ParameterizedMessage("{}", arrayOf<Any?>(nested)).format())
+        assertEquals("[true] [a]", ParameterizedMessage("{} {}", booleanArrayOf(true), charArrayOf('a')).format())
+    }
+
+    @Test
+    fun nullUsage() {
+        assertEquals("user=null", ParameterizedMessage("user={}", null).format())
+        assertEquals("null null", ParameterizedMessage("{} {}", arrayOf<Any?>(null, null)).format())
+    }
+
+    @Test
+    fun throwableUsage() {
+        val exception = Exception("failed")
+        // Without placeholder left, the last throwable is the throwable of the log.
+        ParameterizedMessage("user", exception).apply {
+            assertSame(exception, throwable)
+            assertEquals("user", format())
+        }
+        ParameterizedMessage("user={}", "Ming", exception).apply {
+            assertSame(exception, throwable)
+            assertEquals("user=Ming", format())
+        }
+        ParameterizedMessage("\\{} {}", arrayOf<Any?>(1, exception)).apply {
+            assertSame(exception, throwable)
+            assertEquals("{} 1", format())
+        }
+        // With a placeholder for it, the throwable is an argument.
+        ParameterizedMessage("user={} error={}", "Ming", exception).apply {
+            assertNull(throwable)
+            assertEquals("user=Ming error=$exception", format())
+        }
+        ParameterizedMessage("user={}", "Ming", "Hong").apply {
+            assertNull(throwable)
+        }
+    }
+
+    @Test
+    fun logCatUsage() {
+        val exception = Exception("failed")
+        logcat.e("user={}", "Ming", exception)
+        logcat.e("user={} error={}", "Ming", exception)
+        logcat.e("user={}", exception)
+        assertEquals(listOf("user=Ming", "user=Ming error=$exception", "user={}"), logs.map { it.content })
+        assertEquals(listOf(exception, null, exception), logs.map { it.throwable })
+    }
+}
@@ -20,6 +20,13 @@ import com.alibaba.fastjson2.JSON
 import com.google.gson.JsonParser
 import com.google.gson.Strictness
 import com.google.gson.stream.JsonReader
+import com.log.vastgui.core.base.LogInfo
+import com.log.vastgui.core.base.Logger
+import com.log.vastgui.core.getLogFactory
+import com.log.vastgui.core.plugin.LogPretty
+import com.log.vastgui.core.plugin.LogPrinter
+import com.log.vastgui.core.plugin.LogSwitch
+import org.junit.Assert.assertEquals
 import org.junit.Test
 import java.io.StringReader
 
@@ -63,4 +70,65 @@ class JsonTest {
         }
     }
 
+    @Test
+    fun prettyPrinterUsage() {
+        val printer = JsonPrettyPrinter()
+        println(printer.print("{\"name\":\"log\",\"items\":[1,2,{\"a\":null}],\"empty\":{}}"))
+        // Content that is not json is returned as it is.
+        assertEquals("[INFO] hello", printer.print("[INFO] hello"))
+        assertEquals("[1] failed [2]", printer.print("[1] failed [2]"))
+        assertEquals("{\"a\":tru}", printer.print("{\"a\":tru}"))
+        // Mismatched brackets, missing colons and non-string keys are not json.
+        assertEquals("{\"a\":[1}]", printer.print("{\"a\":[1}]"))
+        assertEquals("{\"a\" 1}", printer.print("{\"a\" 1}"))
+        assertEquals("{1:2}", printer.print("{1:2}"))
+        assertEquals("[1,]", printer.print("[1,]"))
+        // The pretty content is limited by maxLength.
+        val limited = JsonPrettyPrinter(maxLength = 8).print("[1,2,3,4,5,6]")
+        assertEquals("[\n  1,\n ...", limited)
+    }
+
+    @Test
+    fun logPrettyUsage() {
+        val contents = mutableListOf<String>()
+        val converter = object : Converter {
+            override val isPretty: Boolean = true
+            override fun toJson(data: Any): String = data.toString()
+            override fun parseString(jsonString: String): Any = "converted"
+        }
+        fun logcat(config: LogPretty.Configuration.() -> Unit) = getLogFactory {
+            install(LogSwitch) {
+                open = true
+            }
+            install(LogPretty, config)
+            install(LogPrinter) {
+                logger = object : Logger {
+                    override fun log(logInfo: LogInfo) {
+                        contents.add(logInfo.content)
+                    }
+                }
+            }
+        }("JsonTest")
+        logcat {}.d("{\"a\":1}")
+        // An explicitly set converter is still used.
+        logcat { this.converter = converter }.d("{\"a\":1}")
+        assertEquals(listOf("{\n  \"a\": 1\n}", "converted"), contents)
+    }
+
+    @Test
+    fun budgetWriterUsage() {
+        val writer = JsonBudgetWriter(GsonConverter.getInstance(false), maxElements = 3)
+        assertEquals("[0,1,2,\"... 997 more\"]", writer.write((0 until 1000).toList()))
+        assertEquals("{\"a\":[1,2],\"b\":null}", writer.write(mapOf("a" to intArrayOf(1, 2), "b" to null)))
+        println(JsonBudgetWriter(GsonConverter.getInstance(true), maxDepth = 2).write(listOf(listOf(listOf(1)))))
+        // The converter stops once the budget of a large object is used up.
+        val items = Items(List(100_000) { Item(it) })
+        val limited = JsonBudgetWriter(GsonConverter.getInstance(false), maxLength = 20)
+        assertEquals("{\"items\":[{\"id\":0},{...", limited.write(items))
+    }
+
+    private class Item(val id: Int)
+
+    private class Items(val items: List<Item>)
+
 }
\ No newline at end of file
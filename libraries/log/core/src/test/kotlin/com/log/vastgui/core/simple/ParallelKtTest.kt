@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.log.vastgui.core.simple
+
+import com.log.vastgui.core.base.LogInfo
+import com.log.vastgui.core.base.Logger
+import com.log.vastgui.core.getLogFactory
+import com.log.vastgui.core.plugin.LogParallel
+import com.log.vastgui.core.plugin.LogPretty
+import com.log.vastgui.core.plugin.LogPrinter
+import com.log.vastgui.core.plugin.LogSwitch
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.Collections
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/2
+
+class ParallelKtTest {
+
+    private val contents = Collections.synchronizedList(mutableListOf<String>())
+
+    private val dispatcher = LogParallel.Dispatcher(4)
+
+    private val logFactory = getLogFactory {
+        install(LogSwitch) {
+            open = true
+        }
+        install(LogParallel) {
+            dispatcher = this@ParallelKtTest.dispatcher
+        }
+        install(LogPretty)
+        install(LogPrinter) {
+            logger = object : Logger {
+                override fun log(logInfo: LogInfo) {
+                    contents.add(logInfo.content)
+                }
+            }
+        }
+    }
+
+    @Test
+    fun orderUsage() {
+        val logcats = listOf(logFactory("first"), logFactory("second"))
+        repeat(1000) {
+            logcats[it % 2].d("{\"index\":$it}")
+        }
+        assertTrue(dispatcher.awaitIdle(10_000))
+        assertEquals((0 until 1000).map { "{\n  \"index\": $it\n}" }, contents)
+    }
+
+    @Test
+    fun failureUsage() {
+        val logcat = getLogFactory {
+            install(LogSwitch) {
+                open = true
+            }
+            install(LogParallel) {
+                dispatcher = this@ParallelKtTest.dispatcher
+            }
+            install(LogPrinter) {
+                logger = object : Logger {
+                    override fun log(logInfo: LogInfo) {
+                        check(logInfo.content != "fail") { "Failed to output." }
+                        contents.add(logInfo.content)
+                    }
+                }
+            }
+        }("failure")
+        listOf("before", "fail", "after").forEach { logcat.d(it) }
+        assertTrue(dispatcher.awaitIdle(10_000))
+        // The turn of the failed log is still passed on.
+        assertEquals(listOf("before", "after"), contents)
+        assertEquals(1L, dispatcher.failedCount)
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.log.vastgui.core.simple
+
+import com.log.vastgui.core.base.LogFormat
+import com.log.vastgui.core.base.LogInfo
+import com.log.vastgui.core.base.LogLevel
+import com.log.vastgui.core.base.LogSink
+import com.log.vastgui.core.getLogFactory
+import com.log.vastgui.core.plugin.LogRouter
+import com.log.vastgui.core.plugin.LogSwitch
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.concurrent.atomic.AtomicInteger
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/10/31
+
+class RouterKtTest {
+
+    private val formatTimes = AtomicInteger(0)
+
+    private val format = object : LogFormat {
+        override fun format(logInfo: LogInfo): String {
+            formatTimes.incrementAndGet()
+            return "[${logInfo.level}] ${logInfo.content}"
+        }
+    }
+
+    private val console = LogSink("console", format) { _, content -> println(content) }
+
+    private val errors = LogSink("errors", format, setOf(LogLevel.ERROR)) { _, content ->
+        println("errors: $content")
+    }
+
+    private val logcat = getLogFactory {
+        install(LogSwitch) {
+            open = true
+        }
+        install(LogRouter) {
+            sink(console)
+            sink(errors)
+        }
+    }("RouterKtTest")
+
+    @Test
+    fun routeUsage() {
+        logcat.d("debug")
+        logcat.e("error")
+        assertTrue(console.awaitIdle(1000))
+        assertTrue(errors.awaitIdle(1000))
+        // Both sinks share the same format, so each log is formatted once.
+        assertEquals(2, formatTimes.get())
+    }
+
+    @Test
+    fun failureUsage() {
+        val failing = LogSink("failing", format) { logInfo, _ ->
+            check(logInfo.level != LogLevel.ERROR) { "Failed to write." }
+        }
+        val logcat = getLogFactory {
+            install(LogSwitch) {
+                open = true
+            }
+            install(LogRouter) {
+                sink(failing)
+            }
+        }("RouterKtTest")
+        logcat.e("error")
+        logcat.d("debug")
+        assertTrue(failing.awaitIdle(1000))
+        // The worker keeps writing after a failure.
+        assertEquals(1L, failing.failedCount)
+        assertEquals(0L, failing.droppedCount)
+    }
+
+}
@@ -219,6 +219,16 @@ class SimpleKtTest {
         objs.forEach { logcat.e(it) }
     }
 
+    @Test
+    fun parameterizedUsage() {
+        logcat.i("user={} took={}ms", person.name, person.age)
+        logcat.i("user={}", person)
+        logcat.i("user={} took={}ms at {}", person.name, person.age, System.currentTimeMillis())
+        logcat.i("ages={} names={}", intArrayOf(19, 20), arrayOf("Ming", "Hong"))
+        logcat.i("missing {} {}", person.name)
+        logcat.e("user={}", Exception(HELLO_WORLD))
+    }
+
     @Test
     fun jsonPrettyUsage() {
         val json = """
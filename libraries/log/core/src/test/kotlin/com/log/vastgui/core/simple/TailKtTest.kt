@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.log.vastgui.core.simple
+
+import com.log.vastgui.core.base.LogInfo
+import com.log.vastgui.core.base.LogLevel
+import com.log.vastgui.core.base.Logger
+import com.log.vastgui.core.getLogFactory
+import com.log.vastgui.core.plugin.LogPrinter
+import com.log.vastgui.core.plugin.LogSwitch
+import com.log.vastgui.core.plugin.LogTail
+import com.log.vastgui.core.plugin.scope
+import com.log.vastgui.core.plugin.tailContext
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withContext
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import kotlin.concurrent.thread
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/1
+
+class TailKtTest {
+
+    private val contents = mutableListOf<String>()
+
+    private val threads = mutableListOf<String>()
+
+    private val logcat = getLogFactory {
+        install(LogSwitch) {
+            open = true
+        }
+        install(LogTail)
+        install(LogPrinter) {
+            logger = object : Logger {
+                override fun log(logInfo: LogInfo) {
+                    contents.add(logInfo.content)
+                    threads.add(logInfo.threadName)
+                }
+            }
+        }
+    }("TailKtTest")
+
+    @Test
+    fun discardUsage() {
+        logcat.scope {
+            logcat.d("debug")
+            logcat.i("info")
+        }
+        assertEquals(listOf("info"), contents)
+    }
+
+    @Test
+    fun flushUsage() {
+        logcat.scope {
+            logcat.d("debug")
+            logcat.v("verbose")
+            logcat.e("error")
+        }
+        assertEquals(listOf("debug", "verbose", "error"), contents)
+    }
+
+    @Test
+    fun factoryUsage() {
+        val trace = Throwable().stackTrace[0]
+        logcat.scope {
+            val factory = logcat.logInfoFactory(LogLevel.DEBUG, logcat.tag, null, trace) { "buffered" }
+            // The log is sent by another thread, but still belongs to the scope.
+            thread { logcat.log(factory) }.join()
+        }
+        assertEquals(emptyList<String>(), contents)
+        val factory = logcat.logInfoFactory(LogLevel.INFO, logcat.tag, null, trace) { "info" }
+        thread(name = "Render") { logcat.log(factory) }.join()
+        // The thread name is the one of the thread creating the factory.
+        assertEquals(listOf("info"), contents)
+        assertEquals(listOf(Thread.currentThread().name), threads)
+    }
+
+    @Test
+    fun coroutineUsage() = runBlocking {
+        withContext(logcat.tailContext()) {
+            logcat.d("debug")
+            logcat.e("error")
+        }
+        assertEquals(listOf("debug", "error"), contents)
+    }
+
+}
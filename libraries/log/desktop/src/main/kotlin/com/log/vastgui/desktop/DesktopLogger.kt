@@ -56,4 +56,9 @@ class DesktopLogger internal constructor(override val logFormat: LogFormat) : Lo
         println(logFormat.format(logInfo))
     }
 
+    /** @since 1.3.11 */
+    override fun log(logInfo: LogInfo, content: String) {
+        println(content)
+    }
+
 }
\ No newline at end of file
@@ -85,7 +85,12 @@ class DesktopStore internal constructor(override val logFormat: LogFormat) : Log
 
     /** @since 1.3.1 */
     override fun store(logInfo: LogInfo) {
-        storage(logInfo)
+        storage(logFormat.format(logInfo))
+    }
+
+    /** @since 1.3.11 */
+    override fun store(logInfo: LogInfo, content: String) {
+        storage(content)
     }
 
     /**
@@ -106,7 +111,7 @@ class DesktopStore internal constructor(override val logFormat: LogFormat) : Log
         }.absolutePath
 
     /** @since 1.3.1 */
-    private fun storage(info: LogInfo) {
+    private fun storage(content: String) {
         val fileRoot = checkFileRoot()
         val fileNamePrefix = sdf.format(System.currentTimeMillis())
         val fileNameList = getFileList(fileNamePrefix)
@@ -125,7 +130,7 @@ class DesktopStore internal constructor(override val logFormat: LogFormat) : Log
                 lastFile
             }
         }
-        logFile.appendText("${logFormat.format(info)} \n")
+        logFile.appendText("$content \n")
     }
 
     /**
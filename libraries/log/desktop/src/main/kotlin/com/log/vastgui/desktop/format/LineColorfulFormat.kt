@@ -45,7 +45,8 @@ object LineColorfulFormat : LogFormat {
 
     override fun format(logInfo: LogInfo): String {
         val time = timeSdf.format(logInfo.time)
-        return "$Cyan$time$Reset ${logInfo.headColor()}[${logInfo.level}|${logInfo.tag}|${logInfo.threadName}]$Reset $Blue(${logInfo.stackTrace?.fileName}:${logInfo.stackTrace?.lineNumber})$Reset ${logInfo.content}"
+        val context = if (logInfo.context.isEmpty()) "" else "$Gray${logInfo.context}$Reset "
+        return "$Cyan$time$Reset ${logInfo.headColor()}[${logInfo.level}|${logInfo.tag}|${logInfo.threadName}]$Reset $Blue(${logInfo.stackTrace?.fileName}:${logInfo.stackTrace?.lineNumber})$Reset $context${logInfo.content}"
     }
 
     /**
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.mars
+
+import android.app.Application
+import android.content.ComponentCallbacks2
+import android.content.res.Configuration
+import java.io.Closeable
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/12
+// Documentation: https://ave.entropy2020.cn/documents/log/log-mars/usage/
+
+/**
+ * Default maximum time the logs stay in the cache of xlog, in
+ * milliseconds.
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_MARS_MAX_STALENESS_MILLIS = 30_000L
+
+/**
+ * Flush the logs cached by [MarsLogger] when the app goes to the
+ * background, when the memory is low, when the app crashes and at least
+ * every [maxStalenessMillis] milliseconds. With
+ * [com.log.vastgui.mars.base.MarsWriteMode.Async], the logs are only
+ * written when xlog decides to flush, so the logs would be lost if the
+ * process is killed in the background.
+ *
+ * ```kotlin
+ * val scheduler = marsLogger.scheduleFlush(application)
+ * ```
+ *
+ * @param maxStalenessMillis Period of the timed flush, `0` to disable it.
+ * @since 1.3.11
+ */
+@JvmOverloads
+fun MarsLogger.scheduleFlush(
+    application: Application,
+    maxStalenessMillis: Long = DEFAULT_MARS_MAX_STALENESS_MILLIS
+) = MarsFlushScheduler(application, maxStalenessMillis, this::flush)
+
+/**
+ * Flush the logs cached by [MarsRouterLogger], see
+ * [MarsLogger.scheduleFlush].
+ *
+ * @since 1.3.11
+ */
+@JvmOverloads
+fun MarsRouterLogger.scheduleFlush(
+    application: Application,
+    maxStalenessMillis: Long = DEFAULT_MARS_MAX_STALENESS_MILLIS
+) = MarsFlushScheduler(application, maxStalenessMillis, this::flush)
+
+/**
+ * Flush scheduler of xlog, call [close] to stop it.
+ *
+ * @since 1.3.11
+ */
+class MarsFlushScheduler internal constructor(
+    private val application: Application,
+    maxStalenessMillis: Long,
+    private val flush: (isSync: Boolean) -> Unit
+) : ComponentCallbacks2, Closeable {
+
+    private val previousHandler: Thread.UncaughtExceptionHandler? =
+        Thread.getDefaultUncaughtExceptionHandler()
+
+    /** Flush synchronously before the process dies. */
+    private val crashHandler = Thread.UncaughtExceptionHandler { thread, throwable ->
+        safeFlush(true)
+        previousHandler?.uncaughtException(thread, throwable)
+    }
+
+    private val timer: ScheduledExecutorService?
+
+    init {
+        require(maxStalenessMillis >= 0) { "The maxStalenessMillis($maxStalenessMillis) should not be negative." }
+        application.registerComponentCallbacks(this)
+        Thread.setDefaultUncaughtExceptionHandler(crashHandler)
+        timer = if (0L == maxStalenessMillis) null else {
+            Executors.newSingleThreadScheduledExecutor { runnable ->
+                Thread(runnable, "MarsFlushScheduler").apply { isDaemon = true }
+            }.apply {
+                scheduleWithFixedDelay(
+                    { safeFlush(false) },
+                    maxStalenessMillis,
+                    maxStalenessMillis,
+                    TimeUnit.MILLISECONDS
+                )
+            }
+        }
+    }
+
+    /**
+     * [ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN] means the app goes to the
+     * background, the others mean the memory is low. It is called on the
+     * main thread, so the flush is asynchronous.
+     */
+    override fun onTrimMemory(level: Int) {
+        safeFlush(false)
+    }
+
+    override fun onLowMemory() {
+        safeFlush(false)
+    }
+
+    override fun onConfigurationChanged(newConfig: Configuration) = Unit
+
+    /** @since 1.3.11 */
+    override fun close() {
+        timer?.shutdownNow()
+        application.unregisterComponentCallbacks(this)
+        // Another handler may be set after this one.
+        if (Thread.getDefaultUncaughtExceptionHandler() === crashHandler) {
+            Thread.setDefaultUncaughtExceptionHandler(previousHandler)
+        }
+    }
+
+    private fun safeFlush(isSync: Boolean) {
+        try {
+            flush(isSync)
+        } catch (_: Throwable) {
+            // Flushing is best-effort, it must not kill the timer or hide a crash.
+        }
+    }
+
+}
@@ -16,7 +16,7 @@
 
 package com.log.vastgui.mars
 
-import com.ave.vastgui.core.extension.SingletonHolder
+import com.ave.vastgui.core.extension.KeyedSingletonHolder
 import com.log.vastgui.core.base.LogFormat
 import com.log.vastgui.core.base.LogInfo
 import com.log.vastgui.core.base.LogLevel
@@ -26,6 +26,7 @@ import com.log.vastgui.core.format.DEFAULT_MAX_SINGLE_LOG_LENGTH
 import com.log.vastgui.core.format.TableFormat
 import com.log.vastgui.mars.base.MarsConfig
 import com.log.vastgui.mars.base.MarsWriteMode
+import com.log.vastgui.mars.format.MarsFieldFormat
 import com.tencent.mars.xlog.Log
 import java.io.File
 
@@ -34,20 +35,30 @@ import java.io.File
 // Date: 2024/6/1 0:12
 // Documentation: https://ave.entropy2020.cn/documents/log/log-mars/usage/
 
+/**
+ * The default format of [Logger.Companion.mars]. It is shared, so calls
+ * with the default format get the same [MarsLogger].
+ */
+private val defaultFormat = TableFormat(
+    DEFAULT_MAX_SINGLE_LOG_LENGTH,
+    DEFAULT_MAX_PRINT_TIMES,
+    TableFormat.LogHeader.default
+)
+
 /**
  * Mars Logger.
  *
+ * @param logFormat The format of the message, use [MarsFieldFormat] to let
+ * xlog write the fields of [LogInfo] in its own header. There is one
+ * [MarsLogger] for each format, and [TableFormat] is compared by
+ * identity, so reuse the same instance rather than creating one each call.
  * @see MarsConfig
  * @since 1.3.4
  */
 fun Logger.Companion.mars(
     logDir: File,
     logCache: File,
-    logFormat: LogFormat = TableFormat(
-        DEFAULT_MAX_SINGLE_LOG_LENGTH,
-        DEFAULT_MAX_PRINT_TIMES,
-        TableFormat.LogHeader.default
-    ),
+    logFormat: LogFormat = defaultFormat,
     mode: MarsWriteMode = MarsConfig.mode,
     namePreFix: String = MarsConfig.namePrefix,
     singleLogFileEveryday: Boolean = MarsConfig.singleLogFileEveryday,
@@ -77,7 +88,21 @@ fun Logger.Companion.mars(
 class MarsLogger private constructor(override val logFormat: LogFormat) :
     Logger {
     override fun log(logInfo: LogInfo) {
-        val content = logFormat.format(logInfo)
+        write(logInfo, logFormat.format(logInfo))
+    }
+
+    /** @since 1.3.11 */
+    override fun log(logInfo: LogInfo, content: String) {
+        write(logInfo, content)
+    }
+
+    /**
+     * The tag, file name, method name and line number of [logInfo] are
+     * passed to xlog as fields, [content] is the message.
+     *
+     * @since 1.3.11
+     */
+    private fun write(logInfo: LogInfo, content: String) {
         when (logInfo.level) {
             LogLevel.VERBOSE -> Log.v(logInfo.tag, logInfo, content)
             LogLevel.DEBUG -> Log.d(logInfo.tag, logInfo, content)
@@ -88,7 +113,23 @@ class MarsLogger private constructor(override val logFormat: LogFormat) :
         }
     }
 
-    /** @since 1.3.4 */
+    /**
+     * Flush the logs cached by xlog.
+     *
+     * @param isSync `true` if it should return after the logs are written.
+     * @since 1.3.11
+     */
+    @JvmOverloads
+    fun flush(isSync: Boolean = false) {
+        MarsConfig.flush(isSync)
+    }
+
+    /**
+     * Close the appender of xlog, which is shared by the [MarsLogger] of
+     * all the formats.
+     *
+     * @since 1.3.4
+     */
     fun close() {
         MarsConfig.close()
     }
@@ -97,5 +138,5 @@ class MarsLogger private constructor(override val logFormat: LogFormat) :
         MarsConfig.init()
     }
 
-    companion object : SingletonHolder<MarsLogger, LogFormat>(::MarsLogger)
+    companion object : KeyedSingletonHolder<MarsLogger, LogFormat>(::MarsLogger)
 }
\ No newline at end of file
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.mars
+
+import android.os.Looper
+import android.os.Process
+import com.log.vastgui.core.base.LogFormat
+import com.log.vastgui.core.base.LogInfo
+import com.log.vastgui.core.base.LogLevel
+import com.log.vastgui.core.base.Logger
+import com.log.vastgui.mars.base.MarsCategory
+import com.log.vastgui.mars.base.loadMarsLibrary
+import com.log.vastgui.mars.format.MarsFieldFormat
+import com.tencent.mars.xlog.Log
+import com.tencent.mars.xlog.Xlog
+import java.io.Closeable
+import java.util.concurrent.locks.ReentrantReadWriteLock
+import kotlin.concurrent.read
+import kotlin.concurrent.write
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/11
+// Documentation: https://ave.entropy2020.cn/documents/log/log-mars/usage/
+
+/**
+ * Mars logger writing each [MarsCategory] to its own xlog instance, so
+ * each category has its own files, compress mode and level, and does not
+ * contend with the others on one native buffer. The logs whose tag is not
+ * in any category are written to the first category.
+ *
+ * ```kotlin
+ * val logFactory: LogFactory = getLogFactory {
+ *     ...
+ *     install(LogPrinter) {
+ *         logger = Logger.mars(
+ *             MarsCategory("app", logDir, logCache),
+ *             MarsCategory(
+ *                 "network", logDir, logCache,
+ *                 tags = setOf("OkHttp"),
+ *                 level = LogLevel.INFO,
+ *                 compressMode = MarsCompressMode.Zstd
+ *             )
+ *         )
+ *     }
+ * }
+ * ```
+ *
+ * @since 1.3.11
+ */
+fun Logger.Companion.mars(
+    vararg categories: MarsCategory,
+    logFormat: LogFormat = MarsFieldFormat
+): MarsRouterLogger = MarsRouterLogger(categories.toList(), logFormat)
+
+/**
+ * Mars logger routing the logs to xlog instances by tag.
+ *
+ * @since 1.3.11
+ */
+class MarsRouterLogger internal constructor(
+    categories: List<MarsCategory>,
+    override val logFormat: LogFormat
+) : Logger, Closeable {
+
+    /** An opened xlog instance. */
+    private class Instance(val category: MarsCategory, val ptr: Long)
+
+    private val xlog = Xlog()
+
+    private val instances: List<Instance>
+
+    /** The instance of each tag. */
+    private val routes: Map<String, Instance>
+
+    private val mainTid = Looper.getMainLooper().thread.id
+
+    /**
+     * Writes and flushes hold the read lock and [close] holds the write
+     * lock, so no native call uses an instance after it is released.
+     */
+    private val lock = ReentrantReadWriteLock()
+
+    @Volatile
+    private var closed = false
+
+    init {
+        require(categories.isNotEmpty()) { "At least one category is required." }
+        require(categories.distinctBy { it.namePrefix }.size == categories.size) {
+            "The namePrefix of the categories should be unique."
+        }
+        loadMarsLibrary()
+        instances = categories.map { Instance(it, open(it)) }
+        routes = HashMap<String, Instance>().apply {
+            for (instance in instances) {
+                instance.category.tags.forEach { putIfAbsent(it, instance) }
+            }
+        }
+    }
+
+    override fun log(logInfo: LogInfo) {
+        val instance = route(logInfo) ?: return
+        write(instance, logInfo, logFormat.format(logInfo))
+    }
+
+    /** @since 1.3.11 */
+    override fun log(logInfo: LogInfo, content: String) {
+        val instance = route(logInfo) ?: return
+        write(instance, logInfo, content)
+    }
+
+    /**
+     * Flush the logs cached by the xlog instances.
+     *
+     * @param isSync `true` if it should return after the logs are written.
+     * @since 1.3.11
+     */
+    @JvmOverloads
+    fun flush(isSync: Boolean = false) {
+        lock.read {
+            if (closed) return
+            instances.forEach { xlog.appenderFlush(it.ptr, isSync) }
+        }
+    }
+
+    /**
+     * Flush and release the xlog instances, the logs are ignored after it.
+     *
+     * @since 1.3.11
+     */
+    override fun close() {
+        lock.write {
+            if (closed) return
+            closed = true
+            instances.forEach {
+                xlog.appenderFlush(it.ptr, true)
+                xlog.releaseXlogInstance(it.category.namePrefix)
+            }
+        }
+    }
+
+    /**
+     * Returns the instance of [logInfo], or `null` if [logInfo] should not
+     * be written.
+     */
+    private fun route(logInfo: LogInfo): Instance? {
+        if (closed) return null
+        val instance = routes[logInfo.tag] ?: instances[0]
+        return if (logInfo.level >= instance.category.level) instance else null
+    }
+
+    /**
+     * Write [content] to [instance], or ignore it if the logger has been
+     * closed since [route].
+     */
+    private fun write(instance: Instance, logInfo: LogInfo, content: String) {
+        lock.read {
+            if (closed) return
+            val ptr = instance.ptr
+            val tag = logInfo.tag
+            val fileName = logInfo.fileName
+            val methodName = logInfo.methodName
+            val line = logInfo.lineNumber
+            val pid = Process.myPid()
+            val tid = Thread.currentThread().id
+            when (logInfo.level) {
+                LogLevel.VERBOSE -> xlog.logV(ptr, tag, fileName, methodName, line, pid, tid, mainTid, content)
+                LogLevel.DEBUG -> xlog.logD(ptr, tag, fileName, methodName, line, pid, tid, mainTid, content)
+                LogLevel.INFO -> xlog.logI(ptr, tag, fileName, methodName, line, pid, tid, mainTid, content)
+                LogLevel.WARN -> xlog.logW(ptr, tag, fileName, methodName, line, pid, tid, mainTid, content)
+                LogLevel.ERROR -> xlog.logE(ptr, tag, fileName, methodName, line, pid, tid, mainTid, content)
+                LogLevel.ASSERT -> xlog.logF(ptr, tag, fileName, methodName, line, pid, tid, mainTid, content)
+            }
+        }
+    }
+
+    /** Open the xlog instance of [category]. */
+    private fun open(category: MarsCategory): Long {
+        val config = Xlog.XLogConfig().apply {
+            level = category.level.xlogLevel()
+            mode = category.mode.value
+            logdir = category.logDir.path
+            nameprefix = category.namePrefix
+            pubkey = category.pubKey
+            compressmode = category.compressMode.value
+            cachedir = category.logCache?.path ?: ""
+            cachedays = category.cacheDays
+        }
+        val ptr = xlog.newXlogInstance(config)
+        check(0L != ptr) { "Failed to open the xlog instance ${category.namePrefix}." }
+        xlog.setMaxFileSize(ptr, category.maxFileSize)
+        xlog.setMaxAliveTime(ptr, category.maxAliveSeconds.coerceAtLeast(ONE_DAY_SECONDS))
+        return ptr
+    }
+
+    companion object {
+        private const val ONE_DAY_SECONDS = 24L * 60 * 60
+
+        /** @since 1.3.11 */
+        private fun LogLevel.xlogLevel() = when (this) {
+            LogLevel.VERBOSE -> Log.LEVEL_VERBOSE
+            LogLevel.DEBUG -> Log.LEVEL_DEBUG
+            LogLevel.INFO -> Log.LEVEL_INFO
+            LogLevel.WARN -> Log.LEVEL_WARNING
+            LogLevel.ERROR -> Log.LEVEL_ERROR
+            LogLevel.ASSERT -> Log.LEVEL_FATAL
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.mars.base
+
+import com.log.vastgui.core.base.LogLevel
+import java.io.File
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/11
+// Documentation: https://ave.entropy2020.cn/documents/log/log-mars/usage/
+
+/**
+ * Default maximum storage time of a log file of a [MarsCategory], in
+ * seconds.
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_MARS_MAX_ALIVE_SECONDS = 10L * 24 * 60 * 60
+
+/**
+ * A group of tags written to its own xlog instance.
+ *
+ * @property namePrefix File name prefix of the instance, it should be
+ * unique. For example, if the value is network, the generated file name is:
+ * network_20170102.xlog.
+ * @property logDir Log directory, see [MarsConfig.logDir].
+ * @property logCache Cache directory, see [MarsConfig.logCache].
+ * @property tags The tags of the logs written to the instance.
+ * @property level The logs below it are not written to the instance.
+ * @property mode File writing mode of the instance.
+ * @property compressMode Compress mode of the instance.
+ * @property maxFileSize The maximum size of a log file, `0` means saving
+ * the logs in one file every day.
+ * @property maxAliveSeconds The maximum storage time of a log file, at
+ * least one day.
+ * @property cacheDays See [MarsConfig.singleLogFileCacheDays].
+ * @property pubKey See [MarsConfig.pubKey].
+ * @since 1.3.11
+ */
+class MarsCategory @JvmOverloads constructor(
+    val namePrefix: String,
+    val logDir: File,
+    val logCache: File? = null,
+    val tags: Set<String> = emptySet(),
+    val level: LogLevel = LogLevel.VERBOSE,
+    val mode: MarsWriteMode = MarsWriteMode.Async,
+    val compressMode: MarsCompressMode = MarsCompressMode.Zlib,
+    val maxFileSize: Long = 0,
+    val maxAliveSeconds: Long = DEFAULT_MARS_MAX_ALIVE_SECONDS,
+    val cacheDays: Int = 0,
+    val pubKey: String = ""
+) {
+
+    init {
+        require(namePrefix.isNotBlank()) { "The namePrefix should not be blank." }
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.mars.base
+
+import com.tencent.mars.xlog.Xlog
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/11
+// Documentation: https://ave.entropy2020.cn/documents/log/log-mars/usage/
+
+/**
+ * Mars compress mode.
+ *
+ * @since 1.3.11
+ */
+enum class MarsCompressMode(val value: Int) {
+    /** @since 1.3.11 */
+    Zlib(Xlog.ZLIB_MODE),
+
+    /**
+     * Zstd. Compresses faster than [Zlib] at a similar ratio.
+     *
+     * @since 1.3.11
+     */
+    Zstd(Xlog.ZSTD_MODE)
+}
@@ -28,8 +28,7 @@ import java.io.File
 internal object MarsConfig {
 
     init {
-        System.loadLibrary("c++_shared")
-        System.loadLibrary("marsxlog")
+        loadMarsLibrary()
     }
 
     /**
@@ -122,12 +121,19 @@ internal object MarsConfig {
      */
     var pubKey = ""
 
+    /** @since 1.3.11 */
+    private var opened = false
+
     /**
      * Complete configuration.
      *
      * @since 1.3.4
      */
+    @Synchronized
     fun init() {
+        // The appender is shared by the loggers of different formats.
+        if (opened) return
+        opened = true
         val size = if (singleLogFileEveryday) 0 else singleLogFileMaxSize
         Log.setLogImp(Xlog())
         Log.setMaxFileSize(size)
@@ -145,9 +151,28 @@ internal object MarsConfig {
         )
     }
 
+    /** @since 1.3.11 */
+    fun flush(isSync: Boolean) {
+        Log.appenderFlushSync(isSync)
+    }
+
     /** @since 1.3.4 */
+    @Synchronized
     fun close() {
+        if (!opened) return
+        opened = false
         Log.appenderClose()
     }
 
-}
\ No newline at end of file
+}
+
+/**
+ * Load the native libraries of xlog, the loaded libraries are ignored by
+ * [System.loadLibrary].
+ *
+ * @since 1.3.11
+ */
+internal fun loadMarsLibrary() {
+    System.loadLibrary("c++_shared")
+    System.loadLibrary("marsxlog")
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.mars.format
+
+import com.log.vastgui.core.base.LogFormat
+import com.log.vastgui.core.base.LogInfo
+import com.log.vastgui.core.format.ThrowableRenderer
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/11
+// Documentation: https://ave.entropy2020.cn/documents/log/log-mars/usage/
+
+/**
+ * Field format of [LogInfo] for xlog. The tag, file name, method name and
+ * line number of [LogInfo] are passed to xlog as separate fields, and xlog
+ * writes them together with the time, level, pid and tid in its own
+ * header, so only the context, the content and the throwable are formatted
+ * into the message. Compared with [com.log.vastgui.core.format.TableFormat],
+ * there are no borders or repeated header in the message, so less text is
+ * formatted and compressed into the mmap buffer of xlog.
+ *
+ * ```kotlin
+ * val logFactory: LogFactory = getLogFactory {
+ *     ...
+ *     install(LogPrinter) {
+ *         logger = Logger.mars(logDir, logCache, MarsFieldFormat)
+ *     }
+ * }
+ * ```
+ *
+ * @since 1.3.11
+ */
+object MarsFieldFormat : LogFormat {
+
+    override fun format(logInfo: LogInfo): String {
+        val throwable = logInfo.throwable
+        if (logInfo.context.isEmpty() && null == throwable) {
+            return logInfo.content
+        }
+        return buildString {
+            if (logInfo.context.isNotEmpty()) append(logInfo.context).append(' ')
+            append(logInfo.content)
+            if (null != throwable) {
+                append('\n').append(ThrowableRenderer.default.render(throwable))
+            }
+        }
+    }
+
+}
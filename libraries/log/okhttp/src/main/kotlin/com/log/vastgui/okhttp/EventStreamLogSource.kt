@@ -0,0 +1,219 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.okhttp
+
+import okio.Buffer
+import okio.ForwardingSource
+import okio.Source
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/7
+// Documentation: https://ave.entropy2020.cn/documents/log/log-okhttp/usage/
+
+/**
+ * Default maximum number of server-sent events logged together.
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_EVENT_BATCH_SIZE = 32
+
+/**
+ * Default time in milliseconds after which the pending server-sent events
+ * are logged.
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_EVENT_BATCH_MILLIS = 1_000L
+
+/**
+ * A source of `text/event-stream` that passes the bytes to the caller as
+ * soon as they are read, and parses and logs the events on the way.
+ *
+ * The events are logged in batches of at most [batchSize] events, a batch
+ * is logged once it is full, when an event arrives [batchMillis] after the
+ * last log, or when the stream ends. Only the incomplete line is kept, and
+ * at most [maxEventBytes] of the data of an event.
+ *
+ * The reading thread only splits the events, [converter] and the text of
+ * a batch are run by the function passed to [log], so that they can be
+ * rendered by another thread.
+ *
+ * @param name The name of the stream in the logs, such as the url.
+ * @param log Log a batch, the function builds its text.
+ * @since 1.3.11
+ */
+internal class EventStreamLogSource(
+    delegate: Source,
+    private val name: String,
+    private val maxEventBytes: Long,
+    private val batchSize: Int,
+    private val batchMillis: Long,
+    private val converter: ((String) -> String)?,
+    private val log: (() -> String) -> Unit
+) : ForwardingSource(delegate) {
+
+    /** The bytes of the incomplete line. */
+    private val mLine = Buffer()
+
+    /** The data of the current event. */
+    private val mData = StringBuilder()
+
+    private var isDataTruncated = false
+
+    /** `true` if the rest of the current line is skipped. */
+    private var isSkippingLine = false
+
+    /** The events of the batch, built into the log when it is logged. */
+    private val mBatch = ArrayList<Event>()
+
+    private var mEventCount = 0L
+
+    private var mLastLogMillis = System.currentTimeMillis()
+
+    private var isFinished = false
+
+    override fun read(sink: Buffer, byteCount: Long): Long {
+        val read = super.read(sink, byteCount)
+        if (-1L == read) {
+            finish("stream closed")
+            return read
+        }
+        if (!isFinished) {
+            try {
+                sink.copyTo(mLine, sink.size - read, read)
+                parseLines()
+                val now = System.currentTimeMillis()
+                if (mBatch.size >= batchSize || (mBatch.isNotEmpty() && now - mLastLogMillis >= batchMillis)) {
+                    flush(null)
+                }
+            } catch (e: Exception) {
+                // Logging must never break the stream of the caller.
+                finish("logging stopped: $e")
+            }
+        }
+        return read
+    }
+
+    override fun close() {
+        super.close()
+        finish("stream closed")
+    }
+
+    /**
+     * Handle the complete lines in [mLine].
+     *
+     * @see <a href="https://html.spec.whatwg.org/multipage/server-sent-events.html#event-stream-interpretation">Event stream interpretation</a>
+     */
+    private fun parseLines() {
+        while (true) {
+            val index = mLine.indexOf('\n'.code.toByte())
+            if (isSkippingLine) {
+                if (-1L == index) {
+                    mLine.clear()
+                    return
+                }
+                mLine.skip(index + 1)
+                isSkippingLine = false
+                continue
+            }
+            if (-1L == index) {
+                // A line too long, handle its beginning and skip the rest.
+                if (mLine.size > maxEventBytes) {
+                    handleLine(mLine.readUtf8(maxEventBytes))
+                    isDataTruncated = true
+                    isSkippingLine = true
+                    mLine.clear()
+                }
+                return
+            }
+            handleLine(mLine.readUtf8(index).removeSuffix("\r"))
+            mLine.skip(1)
+        }
+    }
+
+    private fun handleLine(line: String) {
+        when {
+            line.isEmpty() -> dispatch()
+            line.startsWith(":") -> Unit
+            line.startsWith("data") -> appendData(line)
+            // The other fields are not logged.
+            else -> Unit
+        }
+    }
+
+    private fun appendData(line: String) {
+        val field = line.substringBefore(':')
+        if (field != "data") return
+        val value = line.substringAfter(':', "").removePrefix(" ")
+        if (mData.isNotEmpty()) mData.append('\n')
+        val remaining = maxEventBytes - mData.length
+        if (value.length > remaining) {
+            mData.append(value, 0, remaining.coerceAtLeast(0).toInt())
+            isDataTruncated = true
+        } else {
+            mData.append(value)
+        }
+    }
+
+    private fun dispatch() {
+        val isTruncated = isDataTruncated
+        isDataTruncated = false
+        if (mData.isEmpty()) return
+        mBatch.add(Event(mData.toString(), isTruncated))
+        mData.setLength(0)
+        mEventCount++
+    }
+
+    /** Log the pending events, with [end] as the reason if the stream ends. */
+    private fun flush(end: String?) {
+        if (mBatch.isEmpty() && null == end) return
+        val events = mBatch.toList()
+        val eventCount = mEventCount
+        val first = eventCount - events.size + 1
+        val converter = converter
+        mBatch.clear()
+        mLastLogMillis = System.currentTimeMillis()
+        log {
+            val content = StringBuilder()
+            content.appendLine("<-- EVENTS $name (${if (events.isNotEmpty()) "$first-$eventCount" else "none"})")
+            events.forEach { content.appendLine("\t ${it.render(converter)}") }
+            if (null != end) {
+                content.append("<-- END EVENTS ($eventCount events, $end)")
+            } else {
+                content.append("<-- END EVENTS")
+            }
+            content.toString()
+        }
+    }
+
+    private fun finish(reason: String) {
+        if (isFinished) return
+        isFinished = true
+        flush(reason)
+        mLine.clear()
+    }
+
+    /** The data of an event, [isTruncated] if it exceeds [maxEventBytes]. */
+    private class Event(val data: String, val isTruncated: Boolean) {
+        fun render(converter: ((String) -> String)?): String = if (isTruncated) {
+            "${data.replace("\n", "\n\t ")} ...(truncated)"
+        } else {
+            converter?.invoke(data)?.replace("\n", "\n\t      ") ?: data.replace("\n", "\n\t ")
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.okhttp
+
+import okio.Buffer
+import okio.Sink
+import okio.Timeout
+import java.io.IOException
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/18
+// Documentation: https://ave.entropy2020.cn/documents/log/log-okhttp/usage/
+
+/**
+ * A sink that keeps the first [limit] bytes written to it in [buffer]. It
+ * throws [LimitReachedException] once more bytes are written, so that a
+ * large request body is not copied completely only to be truncated.
+ *
+ * @property truncated `true` if more than [limit] bytes were written.
+ * @since 1.3.11
+ */
+internal class LimitedSink(private val limit: Long) : Sink {
+
+    val buffer = Buffer()
+
+    var truncated = false
+        private set
+
+    override fun write(source: Buffer, byteCount: Long) {
+        val kept = minOf(byteCount, limit - buffer.size)
+        buffer.write(source, kept)
+        if (kept < byteCount) {
+            source.skip(byteCount - kept)
+            truncated = true
+            throw LimitReachedException()
+        }
+    }
+
+    override fun flush() = Unit
+
+    override fun timeout(): Timeout = Timeout.NONE
+
+    override fun close() = Unit
+
+    /** Thrown once more than [limit] bytes are written. */
+    class LimitReachedException : IOException("More than the limit of bytes are written.")
+
+}
@@ -17,28 +17,36 @@
 package com.log.vastgui.okhttp
 
 import com.ave.vastgui.core.extension.NotNullOrDefault
-import com.ave.vastgui.core.extension.nothing_to_do
 import com.log.vastgui.core.LogCat
 import com.log.vastgui.core.annotation.LogExperimental
+import com.log.vastgui.core.base.LogInfo
 import com.log.vastgui.core.base.LogLevel
 import com.log.vastgui.core.base.LogTag
 import com.log.vastgui.okhttp.base.ContentLevel
+import com.log.vastgui.okhttp.base.SamplingRule
+import com.log.vastgui.okhttp.metrics.HttpMetrics
+import okhttp3.Call
 import okhttp3.Connection
+import okhttp3.Headers
+import okhttp3.HttpUrl
 import okhttp3.Interceptor
 import okhttp3.MediaType
 import okhttp3.Protocol
 import okhttp3.Request
 import okhttp3.Response
 import okhttp3.ResponseBody.Companion.asResponseBody
-import okhttp3.ResponseBody.Companion.toResponseBody
 import okhttp3.internal.http.promisesBody
-import okhttp3.internal.sse.ServerSentEventReader
-import okio.Buffer
-import java.io.ByteArrayOutputStream
+import okio.ByteString
+import okio.buffer
 import java.io.IOException
 import java.nio.charset.Charset
 import java.nio.charset.StandardCharsets
 import java.util.Locale
+import java.util.TreeMap
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.Executor
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.ThreadPoolExecutor
 import java.util.concurrent.TimeUnit
 
 // Author: Vast Gui
@@ -48,6 +56,21 @@ import java.util.concurrent.TimeUnit
 // Documentation: https://ave.entropy2020.cn/documents/log/log-okhttp/usage/
 // Reference: https://square.github.io/okhttp/features/interceptors/
 
+/**
+ * Default maximum number of body bytes logged.
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_MAX_BODY_BYTES = 256L * 1024
+
+/**
+ * Default maximum number of logs waiting for the default
+ * [Okhttp3Interceptor.renderExecutor].
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_RENDER_CAPACITY = 1024
+
 /**
  * Log interceptor of Okhttp3.
  *
@@ -73,8 +96,17 @@ import java.util.concurrent.TimeUnit
 class Okhttp3Interceptor(private val logcat: LogCat) :
     Interceptor {
 
-    /** @since 1.3.7 */
-    private val sanitizedHeaders: MutableMap<String, String> = HashMap()
+    /**
+     * The sanitized headers, the names are compared case-insensitively as
+     * header names are.
+     *
+     * @since 1.3.7
+     */
+    private val sanitizedHeaders: MutableMap<String, String> =
+        TreeMap(String.CASE_INSENSITIVE_ORDER)
+
+    /** @since 1.3.11 */
+    private val samplingRules: MutableList<SamplingRule> = ArrayList()
 
     /**
      * The filter function allows you to filter log messages for requests
@@ -114,6 +146,64 @@ class Okhttp3Interceptor(private val logcat: LogCat) :
      */
     var bodyJsonConverter: ((String) -> String)? = null
 
+    /**
+     * Maximum number of body bytes logged. Only this many bytes are peeked
+     * for the log, the body is passed to the caller untouched and a longer
+     * body is logged with a "(truncated, N bytes total)" suffix.
+     *
+     * @since 1.3.11
+     */
+    var maxBodyBytes: Long by NotNullOrDefault(DEFAULT_MAX_BODY_BYTES)
+
+    /**
+     * Maximum number of server-sent events logged together, the events of
+     * `text/event-stream` responses are logged as the caller reads them.
+     *
+     * @since 1.3.11
+     */
+    var eventBatchSize: Int by NotNullOrDefault(DEFAULT_EVENT_BATCH_SIZE)
+
+    /**
+     * The pending server-sent events are logged when an event arrives this
+     * many milliseconds after the last log.
+     *
+     * @since 1.3.11
+     */
+    var eventBatchMillis: Long by NotNullOrDefault(DEFAULT_EVENT_BATCH_MILLIS)
+
+    /**
+     * If it is set and its [HttpMetrics.eventListenerFactory] is set to the
+     * client, the timing of the call is appended to the `<-- END HTTP` line.
+     *
+     * @since 1.3.11
+     */
+    var httpMetrics: HttpMetrics? = null
+
+    /**
+     * Executor rendering the logs. The caller thread only snapshots the
+     * headers and at most [maxBodyBytes] bytes of the body, the text of the
+     * log, [bodyJsonConverter] included, is built by [renderExecutor], while
+     * the thread name, [logContext] and the `LogTail` scope of the log are
+     * still those of the caller thread. By
+     * default, it is a daemon thread shared by all the interceptors, the
+     * caller thread waits once [DEFAULT_RENDER_CAPACITY] logs are pending so
+     * that the logs keep their order. Set it to `Executor { it.run() }` to
+     * render the logs on the caller thread.
+     *
+     * @since 1.3.11
+     */
+    var renderExecutor: Executor by NotNullOrDefault(DEFAULT_RENDER_EXECUTOR)
+
+    /**
+     * The diagnostic context of the logs, it is taken on the caller thread
+     * when the log is sent, for example `{ Slf4jMDCAdapter.current() }`
+     * to keep the MDC of the caller with log-slf4j.
+     *
+     * @see LogInfo.context
+     * @since 1.3.11
+     */
+    var logContext: (() -> Map<String, String>) by NotNullOrDefault { emptyMap() }
+
     @OptIn(LogExperimental::class)
     @Throws(IOException::class)
     override fun intercept(chain: Interceptor.Chain): Response {
@@ -121,56 +211,55 @@ class Okhttp3Interceptor(private val logcat: LogCat) :
         if (!filter(request) || ContentLevel.NONE == contentLevel) {
             return chain.proceed(request)
         }
-        dealRequestLog(request, chain.connection())
+        val trace = Throwable().stackTrace[0]
+        val requestLog = dealRequestLog(request, chain.connection(), trace)
+        // With sampling rules, the request is logged once the status is known.
+        val deferred = samplingRules.isNotEmpty()
+        if (!deferred) render(requestLevel(request), trace, content = requestLog)
         val startNs = System.nanoTime()
         val response: Response
         try {
             response = chain.proceed(request)
         } catch (e: Exception) {
-            logcat.e(LogTag(logcat.tag), "<-- HTTP FAILED", e)
+            if (!deferred || isSampled(request.url, null)) {
+                if (deferred) render(requestLevel(request), trace, content = requestLog)
+                render(LogLevel.ERROR, trace, e) { "<-- HTTP FAILED" }
+            }
             throw e
         }
         val tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs)
-        return dealResponseLog(response, tookMs)
+        if (deferred) {
+            if (!isSampled(request.url, response.code)) return response
+            render(requestLevel(request), trace, content = requestLog)
+        }
+        return dealResponseLog(response, tookMs, chain.call(), trace)
     }
 
     /**
-     * Deal request log.
+     * Deal request log, returns the function rendering the log from the
+     * snapshot of [request].
      *
      * @since 1.3.3
      */
-    @OptIn(LogExperimental::class)
-    private fun dealRequestLog(request: Request, connection: Connection?) {
-        val requestLog = StringBuilder()
-        val requestBody = request.body
+    private fun dealRequestLog(
+        request: Request,
+        connection: Connection?,
+        trace: StackTraceElement
+    ): () -> String {
+        val contentLevel = contentLevel
         val protocol = connection?.protocol() ?: Protocol.HTTP_1_1
-        try {
+        val body = if (contentLevel.body) requestBodyLog(request, trace) else null
+        return {
+            val requestLog = StringBuilder()
             if (contentLevel.info) {
                 requestLog.appendLine("--> ${request.method} ${request.url} $protocol")
             }
             if (contentLevel.headers) {
-                val headers = request.headers
-                request.headers.forEachIndexed { index, _ ->
-                    val name = headers.name(index)
-                    requestLog.appendLine("\t$name:${sanitizedHeaders[name] ?: headers.value(index)}")
-                }
-            }
-            if (contentLevel.body && null != requestBody) {
-                if (isPlaintext(requestBody.contentType())) {
-                    requestLog.bodyToString(request)
-                } else {
-                    requestLog.appendLine("\tbody: maybe [binary body], omitted!")
-                }
+                requestLog.appendHeaders("\t", request.headers)
             }
-        } catch (e: Exception) {
-            logcat.e(
-                LogTag(logcat.tag),
-                "Exception encountered while processing request information",
-                e
-            )
-        } finally {
+            body?.let { requestLog.appendBody("\tbody:", "\n\t     ", it) }
             requestLog.append("--> END ${request.method}")
-            logcat.log(requestLevel(request), LogTag(logcat.tag)(), requestLog.toString(), null, Throwable().stackTrace[0])
+            requestLog.toString()
         }
     }
 
@@ -180,107 +269,172 @@ class Okhttp3Interceptor(private val logcat: LogCat) :
      * @since 1.3.3
      */
     @OptIn(LogExperimental::class)
-    private fun dealResponseLog(response: Response, tookMs: Long): Response {
-        val requestLog = StringBuilder()
-        val builder = response.newBuilder()
-        val clone: Response = builder.build()
-        var responseBody = clone.body
+    private fun dealResponseLog(
+        response: Response,
+        tookMs: Long,
+        call: Call,
+        trace: StackTraceElement
+    ): Response {
+        val contentLevel = contentLevel
+        val level = responseLevel(response)
+        val responseBody = response.body
+        var result = response
+        var body: BodyLog? = null
         try {
-            if (contentLevel.info) {
-                requestLog
-                    .appendLine("<-- ${clone.code} ${clone.message} ${clone.request.url} (${tookMs}ms)")
-            }
-            if (contentLevel.headers) {
-                val headers = clone.headers
-                headers.forEachIndexed { index, _ ->
-                    requestLog.appendLine("\t ${headers.name(index)}:${headers.value(index)}")
-                }
-            }
-            if (contentLevel.body && clone.promisesBody()) {
-                if (responseBody == null) return response
+            if (contentLevel.body && response.promisesBody() && null != responseBody) {
                 if (isEventStream(responseBody.contentType())) {
-                    var isFirst = true
-                    // https://stackoverflow.com/a/40002832/16905468
-                    // https://stackoverflow.com/a/33862068/16905468
-                    val source = responseBody.source()
-                        .apply { request(Long.MAX_VALUE) }
-                    val bufferClone = source.buffer.clone()
-                    val body = bufferClone
+                    // The events are logged while the caller reads them.
+                    body = BodyLog.Omitted("\t body: [event stream], see EVENTS logs")
+                    val source = EventStreamLogSource(
+                        responseBody.source(),
+                        response.request.url.toString(),
+                        maxBodyBytes,
+                        eventBatchSize,
+                        eventBatchMillis,
+                        bodyJsonConverter
+                    ) { content -> render(level, trace, content = content) }
+                    val eventBody = source.buffer()
                         .asResponseBody(responseBody.contentType(), responseBody.contentLength())
-                    val reader =
-                        ServerSentEventReader(source, object : ServerSentEventReader.Callback {
-                            override fun onEvent(id: String?, type: String?, data: String) {
-                                val json = bodyJsonConverter
-                                    ?.invoke(data)
-                                    ?.replace("\n", "\n\t      ")
-                                val tab = if (isFirst) {
-                                    isFirst = false; "body:"
-                                } else "     "
-                                requestLog.appendLine("\t $tab${json ?: data}")
-                            }
-
-                            override fun onRetryChange(timeMs: Long) {
-                                nothing_to_do()
-                            }
-                        })
-                    while (reader.processNextEvent()) {
-                        nothing_to_do()
-                    }
-
-                    return response.newBuilder().body(body).build()
+                    result = response.newBuilder().body(eventBody).build()
                 }
                 // Deal response as text
                 else if (isPlaintext(responseBody.contentType())) {
-                    val bufferSize = 1024 * 8
-                    val bytes = ByteArrayOutputStream().use { output ->
-                        responseBody!!.byteStream().copyTo(output, bufferSize)
-                        output.toByteArray()
-                    }
-                    val contentType = responseBody.contentType()
-                    val body = String(bytes, getCharset(contentType))
-                    val json = bodyJsonConverter
-                        ?.invoke(body)
-                        ?.replace("\n", "\n\t      ")
-                    requestLog.appendLine("\t body:${json ?: body}")
-                    responseBody = bytes.toResponseBody(responseBody.contentType())
-                    return response.newBuilder().body(responseBody).build()
+                    // Peek at most maxBodyBytes + 1 bytes, the caller still reads the
+                    // whole body from the original source.
+                    val peek = responseBody.source().peek()
+                    val truncated = peek.request(maxBodyBytes + 1)
+                    val byteCount = if (truncated) maxBodyBytes else peek.buffer.size
+                    body = BodyLog.Text(
+                        peek.readByteString(byteCount),
+                        getCharset(responseBody.contentType()),
+                        truncated,
+                        responseBody.contentLength()
+                    )
                 } else {
-                    requestLog.appendLine("\tbody:maybe [binary body], omitted!")
+                    body = BodyLog.Omitted("\tbody:maybe [binary body], omitted!")
                 }
             }
         } catch (e: Exception) {
-            logcat.e(
-                LogTag(logcat.tag),
-                "Exception encountered while processing response information",
-                e
-            )
-        } finally {
-            requestLog.append("<-- END HTTP")
-            logcat.log(responseLevel(response), LogTag(logcat.tag)(), requestLog.toString(), null, Throwable().stackTrace[0])
+            render(LogLevel.ERROR, trace, e) {
+                "Exception encountered while processing response information"
+            }
+        }
+        val code = response.code
+        val message = response.message
+        val url = response.request.url
+        val headers = response.headers
+        val bodyLog = body
+        val timing = httpMetrics?.timingOf(call)?.toString()
+        render(level, trace) {
+            val responseLog = StringBuilder()
+            if (contentLevel.info) {
+                responseLog.appendLine("<-- $code $message $url (${tookMs}ms)")
+            }
+            if (contentLevel.headers) {
+                responseLog.appendHeaders("\t ", headers)
+            }
+            bodyLog?.let { responseLog.appendBody("\t body:", "\n\t      ", it) }
+            responseLog.append("<-- END HTTP")
+            timing?.let { responseLog.append(" ($it)") }
+            responseLog.toString()
         }
-        return response
+        return result
     }
 
     /**
-     * Convert [Request.body] to string.
+     * Snapshot of [Request.body], the body is written into a [LimitedSink]
+     * which stops it once [maxBodyBytes] bytes are copied.
      *
-     * @since 1.3.3
+     * @since 1.3.11
      */
     @OptIn(LogExperimental::class)
-    private fun StringBuilder.bodyToString(request: Request) {
-        try {
-            val copy = request.newBuilder().build()
-            val body = copy.body ?: return
-            val buffer = Buffer()
-            body.writeTo(buffer)
-            val charset = getCharset(body.contentType())
-            val bodyJson = buffer.readString(charset)
-            val json = bodyJsonConverter
-                ?.invoke(bodyJson)
-                ?.replace("\n", "\n\t     ")
-            appendLine("\tbody:${json ?: bodyJson}")
+    private fun requestBodyLog(request: Request, trace: StackTraceElement): BodyLog? {
+        val body = request.body ?: return null
+        if (!isPlaintext(body.contentType())) {
+            return BodyLog.Omitted("\tbody: maybe [binary body], omitted!")
+        }
+        // Writing them would consume the body of the call.
+        if (body.isOneShot() || body.isDuplex()) {
+            return BodyLog.Omitted("\tbody: [one-shot body], omitted!")
+        }
+        return try {
+            val sink = LimitedSink(maxBodyBytes)
+            val buffered = sink.buffer()
+            try {
+                body.writeTo(buffered)
+                buffered.flush()
+            } catch (e: IOException) {
+                // The sink stops the body once maxBodyBytes bytes are copied.
+                if (!sink.truncated) throw e
+            }
+            val truncated = sink.truncated
+            val total = if (truncated) body.contentLength() else sink.buffer.size
+            BodyLog.Text(sink.buffer.readByteString(), getCharset(body.contentType()), truncated, total)
         } catch (e: Exception) {
-            logcat.e(LogTag(logcat.tag), "Exception encountered while processing request body", e)
+            render(LogLevel.ERROR, trace, e) { "Exception encountered while processing request body" }
+            null
+        }
+    }
+
+    /**
+     * Renders the log by [renderExecutor] and logs it with [level]. All the
+     * logs of a call go through it, so they keep their order. The log is
+     * created on the caller thread, only [content] is built by
+     * [renderExecutor].
+     *
+     * @since 1.3.11
+     */
+    @OptIn(LogExperimental::class)
+    private fun render(
+        level: LogLevel,
+        trace: StackTraceElement,
+        throwable: Throwable? = null,
+        content: () -> String
+    ) {
+        val factory = logcat.logInfoFactory(level, LogTag(logcat.tag)(), throwable, trace, logContext()) {
+            try {
+                content()
+            } catch (e: Exception) {
+                "Exception encountered while rendering http log: $e"
+            }
+        }
+        renderExecutor.execute { logcat.log(factory) }
+    }
+
+    /**
+     * Returns `true` if the call should be logged, the first [SamplingRule]
+     * matching the call decides it.
+     *
+     * @since 1.3.11
+     */
+    private fun isSampled(url: HttpUrl, code: Int?): Boolean {
+        val rule = samplingRules.firstOrNull { it.matches(url, code) } ?: return true
+        return rule.rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rule.rate
+    }
+
+    /** @since 1.3.11 */
+    private fun StringBuilder.appendHeaders(prefix: String, headers: Headers) {
+        for (index in 0 until headers.size) {
+            val name = headers.name(index)
+            appendLine("$prefix$name:${sanitizedHeaders[name] ?: headers.value(index)}")
+        }
+    }
+
+    /** @since 1.3.11 */
+    private fun StringBuilder.appendBody(prefix: String, indent: String, body: BodyLog) {
+        when (body) {
+            is BodyLog.Omitted -> appendLine(body.line)
+            is BodyLog.Text -> {
+                val text = body.bytes.string(body.charset)
+                if (body.truncated) {
+                    appendLine("$prefix$text${truncatedSuffix(body.total)}")
+                } else {
+                    val json = bodyJsonConverter
+                        ?.invoke(text)
+                        ?.replace("\n", indent)
+                    appendLine("$prefix${json ?: text}")
+                }
+            }
         }
     }
 
@@ -300,9 +454,89 @@ class Okhttp3Interceptor(private val logcat: LogCat) :
         sanitizedHeaders[header] = replaceWith
     }
 
+    /**
+     * Adds a [SamplingRule], the first rule matching a call decides the
+     * fraction of the calls logged, and the calls matching no rule are all
+     * logged. Once a rule is added, the request is logged along with its
+     * response as the status is only known then. In the example below, 1%
+     * of the 2xx calls and all the other calls are logged:
+     *
+     * ```kotlin
+     * Okhttp3Interceptor(logcat)
+     *      .sampling(0.01, status = 200..299)
+     * ```
+     *
+     * @since 1.3.11
+     */
+    @JvmOverloads
+    fun sampling(
+        rate: Double,
+        host: String? = null,
+        pathPrefix: String? = null,
+        status: IntRange? = null
+    ) = sampling(SamplingRule(rate, host, pathPrefix, status))
+
+    /** @since 1.3.11 */
+    fun sampling(rule: SamplingRule) = apply {
+        samplingRules.add(rule)
+    }
+
+    /**
+     * Suffix of a body longer than [maxBodyBytes], [total] is `-1` if the
+     * length is unknown.
+     *
+     * @since 1.3.11
+     */
+    private fun truncatedSuffix(total: Long): String =
+        if (total >= 0) " ...(truncated, $total bytes total)"
+        else " ...(truncated, more than $maxBodyBytes bytes)"
+
+    /**
+     * Body of the log copied on the caller thread.
+     *
+     * @since 1.3.11
+     */
+    private sealed interface BodyLog {
+        /** The body is not logged, [line] is logged instead. */
+        class Omitted(val line: String) : BodyLog
+
+        /**
+         * [bytes] are the first bytes of the body, [total] is `-1` if the
+         * length is unknown.
+         */
+        class Text(
+            val bytes: ByteString,
+            val charset: Charset,
+            val truncated: Boolean,
+            val total: Long
+        ) : BodyLog
+    }
+
     companion object {
         private val UTF8: Charset = StandardCharsets.UTF_8
 
+        /**
+         * Shared by the interceptors whose [renderExecutor] is not set. When
+         * the queue is full, the caller waits for room instead of rendering
+         * the log itself, which would put it ahead of the queued logs.
+         *
+         * @since 1.3.11
+         */
+        private val DEFAULT_RENDER_EXECUTOR: Executor = ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS,
+            ArrayBlockingQueue(DEFAULT_RENDER_CAPACITY),
+            { runnable -> Thread(runnable, "Okhttp3Interceptor").apply { isDaemon = true } }
+        ) { runnable, executor ->
+            if (!executor.isShutdown) {
+                try {
+                    executor.queue.put(runnable)
+                } catch (e: InterruptedException) {
+                    // The log is dropped, keep the interrupt for the caller.
+                    Thread.currentThread().interrupt()
+                }
+            }
+        }
+
         /**
          * This method is only for compatibility with the way [Okhttp3Interceptor]
          * was created before version 1.3.5.
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.okhttp.base
+
+import okhttp3.HttpUrl
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/10
+// Documentation: https://ave.entropy2020.cn/documents/log/log-okhttp/usage/
+
+/**
+ * Logs [rate] of the calls matching [host], [pathPrefix] and [status], a
+ * `null` condition matches any call.
+ *
+ * @property rate The fraction of the matching calls logged, in `0.0..1.0`.
+ * @property status The response code, a failed call has no response code
+ * and only matches a rule without [status].
+ * @since 1.3.11
+ */
+class SamplingRule(
+    val rate: Double,
+    val host: String? = null,
+    val pathPrefix: String? = null,
+    val status: IntRange? = null
+) {
+
+    init {
+        require(rate in 0.0..1.0) { "The rate($rate) should be in 0.0..1.0." }
+    }
+
+    /** @since 1.3.11 */
+    fun matches(url: HttpUrl, code: Int?): Boolean {
+        if (null != host && !host.equals(url.host, ignoreCase = true)) return false
+        if (null != pathPrefix && !url.encodedPath.startsWith(pathPrefix)) return false
+        if (null != status) return null != code && code in status
+        return true
+    }
+
+    override fun toString(): String = "SamplingRule(rate=$rate, host=$host, pathPrefix=$pathPrefix, status=$status)"
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.okhttp.metrics
+
+import com.log.vastgui.okhttp.Okhttp3Interceptor
+import okhttp3.Call
+import okhttp3.EventListener
+import okhttp3.HttpUrl
+import okhttp3.OkHttpClient
+import java.util.Collections
+import java.util.WeakHashMap
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/8
+// Documentation: https://ave.entropy2020.cn/documents/log/log-okhttp/metrics/
+
+/**
+ * Default maximum number of endpoints of [HttpMetrics].
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_MAX_ENDPOINTS = 256
+
+/**
+ * Latency of the calls of an [OkHttpClient] by phase, aggregated per host
+ * and path.
+ *
+ * ```kotlin
+ * val metrics = HttpMetrics()
+ * val okhttp = OkHttpClient.Builder()
+ *     .eventListenerFactory(metrics.eventListenerFactory)
+ *     // Optional, append the timing to the "<-- END HTTP" line.
+ *     .addInterceptor(Okhttp3Interceptor(logcat).apply { httpMetrics = metrics })
+ *     .build()
+ * ...
+ * metrics.snapshot().forEach { println(it) }
+ * ```
+ *
+ * @param maxEndpoints Maximum number of endpoints, once it is reached the
+ * calls to new paths are recorded in the endpoint `*` of their host.
+ * @param pathOf The path of an endpoint, [HttpUrl.encodedPath] by default.
+ * Replace the ids in the path to keep the number of endpoints low, for
+ * example `/users/{id}`.
+ * @since 1.3.11
+ */
+class HttpMetrics @JvmOverloads constructor(
+    private val maxEndpoints: Int = DEFAULT_MAX_ENDPOINTS,
+    private val pathOf: (HttpUrl) -> String = { it.encodedPath }
+) {
+
+    private val mEndpoints = ConcurrentHashMap<Endpoint, EndpointStats>()
+
+    /**
+     * The listener of the calls in progress, weak so that a call that is
+     * never executed does not leak.
+     */
+    private val mListeners: MutableMap<Call, HttpTimingListener> =
+        Collections.synchronizedMap(WeakHashMap())
+
+    /**
+     * Set it to [OkHttpClient.Builder.eventListenerFactory].
+     *
+     * @since 1.3.11
+     */
+    val eventListenerFactory: EventListener.Factory = EventListener.Factory { call ->
+        HttpTimingListener(this).also { mListeners[call] = it }
+    }
+
+    /**
+     * The timing of [call] so far, or `null` if [call] is not created by a
+     * client with [eventListenerFactory] or has ended.
+     *
+     * @see Okhttp3Interceptor.httpMetrics
+     * @since 1.3.11
+     */
+    fun timingOf(call: Call): CallTiming? = mListeners[call]?.timing
+
+    /**
+     * The latency of each endpoint since this [HttpMetrics] was created.
+     *
+     * @since 1.3.11
+     */
+    fun snapshot(): List<EndpointSnapshot> = mEndpoints.map { (endpoint, stats) ->
+        EndpointSnapshot(
+            endpoint.host,
+            endpoint.path,
+            stats.failures.get(),
+            HttpPhase.entries.associateWith { stats.histograms[it.ordinal].snapshot() }
+        )
+    }
+
+    /** @since 1.3.11 */
+    internal fun onCallEnd(call: Call, listener: HttpTimingListener, failed: Boolean) {
+        mListeners.remove(call)
+        val stats = statsOf(call.request().url)
+        if (failed) stats.failures.incrementAndGet()
+        HttpPhase.entries.forEach { phase ->
+            val nanos = listener.timing.nanos(phase)
+            if (nanos >= 0 && !(failed && phase == HttpPhase.TOTAL)) {
+                stats.histograms[phase.ordinal].record(nanos)
+            }
+        }
+    }
+
+    private fun statsOf(url: HttpUrl): EndpointStats {
+        val endpoint = Endpoint(url.host, pathOf(url))
+        mEndpoints[endpoint]?.let { return it }
+        val key = if (mEndpoints.size < maxEndpoints) endpoint else Endpoint(url.host, "*")
+        return mEndpoints.computeIfAbsent(key) { EndpointStats() }
+    }
+
+    private data class Endpoint(val host: String, val path: String)
+
+    private class EndpointStats {
+        val failures = AtomicLong()
+        val histograms = Array(HttpPhase.entries.size) { LatencyHistogram() }
+    }
+
+    /**
+     * Latency of an endpoint.
+     *
+     * @property failures Number of failed calls, their [HttpPhase.TOTAL] is
+     * not recorded.
+     * @property phases Latency of each phase.
+     * @since 1.3.11
+     */
+    data class EndpointSnapshot(
+        val host: String,
+        val path: String,
+        val failures: Long,
+        val phases: Map<HttpPhase, LatencyHistogram.Snapshot>
+    ) {
+        override fun toString(): String = buildString {
+            append("$host$path failures=$failures")
+            phases.filterValues { it.count > 0 }.forEach { (phase, snapshot) ->
+                append("\n\t${phase.name.lowercase()}: $snapshot")
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.okhttp.metrics
+
+import okhttp3.Call
+import okhttp3.EventListener
+import okhttp3.Handshake
+import okhttp3.Protocol
+import okhttp3.Request
+import okhttp3.Response
+import java.io.IOException
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.net.Proxy
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/8
+// Documentation: https://ave.entropy2020.cn/documents/log/log-okhttp/metrics/
+
+/**
+ * Phases of a call.
+ *
+ * @since 1.3.11
+ */
+enum class HttpPhase {
+    /** Resolving the host. */
+    DNS,
+
+    /** Connecting, including [TLS]. */
+    CONNECT,
+
+    /** TLS handshake. */
+    TLS,
+
+    /** Writing the request headers and body. */
+    REQUEST,
+
+    /** From the end of the request to the start of the response headers. */
+    TTFB,
+
+    /** Reading the response body. */
+    BODY,
+
+    /** The whole call. */
+    TOTAL
+}
+
+/**
+ * Durations of the phases of a call, a phase that did not happen, such as
+ * [HttpPhase.DNS] on a pooled connection, is `-1`. The events of a call may
+ * come from different threads, so the durations are guarded by the
+ * [CallTiming].
+ *
+ * @since 1.3.11
+ */
+class CallTiming internal constructor() {
+
+    /** Durations in nanoseconds indexed by [HttpPhase.ordinal]. */
+    private val mNanos = LongArray(HttpPhase.entries.size) { -1 }
+
+    /** @since 1.3.11 */
+    @Synchronized
+    fun nanos(phase: HttpPhase): Long = mNanos[phase.ordinal]
+
+    /** @since 1.3.11 */
+    @Synchronized
+    internal fun add(phase: HttpPhase, nanos: Long) {
+        val current = mNanos[phase.ordinal]
+        mNanos[phase.ordinal] = if (current < 0) nanos else current + nanos
+    }
+
+    /** @since 1.3.11 */
+    @Synchronized
+    internal fun set(phase: HttpPhase, nanos: Long) {
+        mNanos[phase.ordinal] = nanos
+    }
+
+    /**
+     * The phases that happened, for example `dns=3ms connect=40ms tls=25ms`.
+     */
+    @Synchronized
+    override fun toString(): String = HttpPhase.entries
+        .filter { mNanos[it.ordinal] >= 0 }
+        .joinToString(" ") { "${it.name.lowercase()}=${mNanos[it.ordinal] / 1_000_000}ms" }
+}
+
+/**
+ * Records the [CallTiming] of a call and reports it to [metrics] when the
+ * call ends.
+ *
+ * A call may send several requests, for redirects, retries and
+ * authentication. [HttpPhase.REQUEST] and [HttpPhase.TTFB] add up the time
+ * of each of them, [HttpPhase.TTFB] is measured from the end of the latest
+ * request.
+ *
+ * @since 1.3.11
+ */
+internal class HttpTimingListener(
+    private val metrics: HttpMetrics
+) : EventListener() {
+
+    val timing = CallTiming()
+
+    @Volatile
+    private var mCallStart = 0L
+
+    @Volatile
+    private var mDnsStart = 0L
+
+    @Volatile
+    private var mConnectStart = 0L
+
+    @Volatile
+    private var mTlsStart = 0L
+
+    /** `-1` if there is no request waiting for its response. */
+    @Volatile
+    private var mRequestStart = -1L
+
+    /** The end of the headers or the body of the latest request. */
+    @Volatile
+    private var mRequestEnd = 0L
+
+    @Volatile
+    private var mBodyStart = 0L
+
+    override fun callStart(call: Call) {
+        mCallStart = System.nanoTime()
+    }
+
+    override fun dnsStart(call: Call, domainName: String) {
+        mDnsStart = System.nanoTime()
+    }
+
+    override fun dnsEnd(call: Call, domainName: String, inetAddressList: List<InetAddress>) {
+        timing.add(HttpPhase.DNS, System.nanoTime() - mDnsStart)
+    }
+
+    override fun connectStart(call: Call, inetSocketAddress: InetSocketAddress, proxy: Proxy) {
+        mConnectStart = System.nanoTime()
+    }
+
+    override fun secureConnectStart(call: Call) {
+        mTlsStart = System.nanoTime()
+    }
+
+    override fun secureConnectEnd(call: Call, handshake: Handshake?) {
+        timing.add(HttpPhase.TLS, System.nanoTime() - mTlsStart)
+    }
+
+    override fun connectEnd(
+        call: Call,
+        inetSocketAddress: InetSocketAddress,
+        proxy: Proxy,
+        protocol: Protocol?
+    ) {
+        timing.add(HttpPhase.CONNECT, System.nanoTime() - mConnectStart)
+    }
+
+    override fun connectFailed(
+        call: Call,
+        inetSocketAddress: InetSocketAddress,
+        proxy: Proxy,
+        protocol: Protocol?,
+        ioe: IOException
+    ) {
+        timing.add(HttpPhase.CONNECT, System.nanoTime() - mConnectStart)
+    }
+
+    override fun requestHeadersStart(call: Call) {
+        // Each request of the call starts over, so the end of a previous
+        // request is never taken as the end of this one.
+        val now = System.nanoTime()
+        mRequestStart = now
+        mRequestEnd = now
+    }
+
+    override fun requestHeadersEnd(call: Call, request: Request) {
+        requestEnd()
+    }
+
+    override fun requestBodyEnd(call: Call, byteCount: Long) {
+        requestEnd()
+    }
+
+    override fun responseHeadersStart(call: Call) {
+        if (mRequestStart >= 0) timing.add(HttpPhase.TTFB, System.nanoTime() - mRequestEnd)
+        mRequestStart = -1L
+    }
+
+    override fun responseHeadersEnd(call: Call, response: Response) = Unit
+
+    override fun responseBodyStart(call: Call) {
+        mBodyStart = System.nanoTime()
+    }
+
+    override fun responseBodyEnd(call: Call, byteCount: Long) {
+        timing.add(HttpPhase.BODY, System.nanoTime() - mBodyStart)
+    }
+
+    override fun callEnd(call: Call) {
+        timing.set(HttpPhase.TOTAL, System.nanoTime() - mCallStart)
+        metrics.onCallEnd(call, this, false)
+    }
+
+    override fun callFailed(call: Call, ioe: IOException) {
+        timing.set(HttpPhase.TOTAL, System.nanoTime() - mCallStart)
+        metrics.onCallEnd(call, this, true)
+    }
+
+    /** The request ends after its headers, or after its body if it has one. */
+    private fun requestEnd() {
+        if (mRequestStart < 0) return
+        val now = System.nanoTime()
+        timing.add(HttpPhase.REQUEST, now - mRequestEnd)
+        mRequestEnd = now
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.okhttp.metrics
+
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/8
+// Documentation: https://ave.entropy2020.cn/documents/log/log-okhttp/metrics/
+
+/**
+ * Histogram of durations with fixed buckets, it is updated without lock.
+ *
+ * @since 1.3.11
+ */
+class LatencyHistogram internal constructor() {
+
+    private val mCounts = AtomicLongArray(BOUNDS_MS.size + 1)
+
+    private val mSumNanos = AtomicLong()
+
+    private val mMaxNanos = AtomicLong()
+
+    /** @since 1.3.11 */
+    internal fun record(nanos: Long) {
+        if (nanos < 0) return
+        val millis = TimeUnit.NANOSECONDS.toMillis(nanos)
+        var index = BOUNDS_MS.binarySearch(millis)
+        if (index < 0) index = -index - 1
+        mCounts.incrementAndGet(index)
+        mSumNanos.addAndGet(nanos)
+        mMaxNanos.accumulateAndGet(nanos, ::maxOf)
+    }
+
+    /**
+     * The current state of the histogram.
+     *
+     * @since 1.3.11
+     */
+    fun snapshot(): Snapshot {
+        val counts = LongArray(mCounts.length()) { mCounts.get(it) }
+        return Snapshot(counts, mSumNanos.get(), mMaxNanos.get())
+    }
+
+    /**
+     * Snapshot of [LatencyHistogram].
+     *
+     * @property count Number of recorded durations.
+     * @property maxMillis The longest duration.
+     * @since 1.3.11
+     */
+    class Snapshot internal constructor(
+        private val counts: LongArray,
+        private val sumNanos: Long,
+        private val maxNanos: Long
+    ) {
+        val count: Long = counts.sum()
+
+        val maxMillis: Double
+            get() = maxNanos / 1e6
+
+        val meanMillis: Double
+            get() = if (0L == count) 0.0 else sumNanos / 1e6 / count
+
+        /**
+         * The upper bound of the bucket of the [percentile] (0 to 100), or
+         * [maxMillis] if it is in the last bucket.
+         *
+         * @since 1.3.11
+         */
+        fun percentileMillis(percentile: Double): Double {
+            require(percentile in 0.0..100.0) { "percentile($percentile) should be in 0..100." }
+            if (0L == count) return 0.0
+            val rank = Math.ceil(percentile / 100 * count).toLong().coerceAtLeast(1)
+            var seen = 0L
+            counts.forEachIndexed { index, bucket ->
+                seen += bucket
+                if (seen >= rank) {
+                    return if (index < BOUNDS_MS.size) minOf(BOUNDS_MS[index].toDouble(), maxMillis)
+                    else maxMillis
+                }
+            }
+            return maxMillis
+        }
+
+        override fun toString(): String =
+            "count=$count mean=%.1fms p50=%.0fms p90=%.0fms p99=%.0fms max=%.1fms".format(
+                meanMillis, percentileMillis(50.0), percentileMillis(90.0),
+                percentileMillis(99.0), maxMillis
+            )
+    }
+
+    companion object {
+        /** Upper bounds of the buckets in milliseconds. */
+        private val BOUNDS_MS = longArrayOf(
+            1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 30_000, 60_000
+        )
+    }
+}
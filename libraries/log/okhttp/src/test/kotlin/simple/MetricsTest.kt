@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package simple
+
+import com.log.vastgui.okhttp.metrics.HttpMetrics
+import com.log.vastgui.okhttp.metrics.HttpPhase
+import com.log.vastgui.okhttp.metrics.HttpTimingListener
+import com.log.vastgui.okhttp.metrics.LatencyHistogram
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.io.IOException
+import java.util.concurrent.TimeUnit
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/8
+
+class MetricsTest {
+
+    private val client = OkHttpClient()
+
+    @Test
+    fun histogramUsage() {
+        val histogram = LatencyHistogram()
+        repeat(90) { histogram.record(TimeUnit.MILLISECONDS.toNanos(3)) }
+        repeat(9) { histogram.record(TimeUnit.MILLISECONDS.toNanos(150)) }
+        histogram.record(TimeUnit.SECONDS.toNanos(70))
+        // Negative durations are ignored.
+        histogram.record(-1)
+        val snapshot = histogram.snapshot()
+        assertEquals(100L, snapshot.count)
+        assertEquals(716.2, snapshot.meanMillis, 1e-9)
+        assertEquals(70_000.0, snapshot.maxMillis, 1e-9)
+        // The upper bound of the bucket of the percentile.
+        assertEquals(5.0, snapshot.percentileMillis(50.0), 1e-9)
+        assertEquals(5.0, snapshot.percentileMillis(90.0), 1e-9)
+        assertEquals(200.0, snapshot.percentileMillis(91.0), 1e-9)
+        assertEquals(200.0, snapshot.percentileMillis(99.0), 1e-9)
+        // The durations longer than the last bound are reported by the max.
+        assertEquals(70_000.0, snapshot.percentileMillis(100.0), 1e-9)
+    }
+
+    @Test
+    fun histogramBoundUsage() {
+        val histogram = LatencyHistogram()
+        // A bound belongs to its own bucket.
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(2))
+        assertEquals(2.0, histogram.snapshot().percentileMillis(50.0), 1e-9)
+        // The percentile is not greater than the max.
+        val short = LatencyHistogram()
+        short.record(TimeUnit.MILLISECONDS.toNanos(3))
+        assertEquals(3.0, short.snapshot().percentileMillis(50.0), 1e-9)
+        assertEquals(0.0, LatencyHistogram().snapshot().percentileMillis(50.0), 1e-9)
+    }
+
+    @Test
+    fun endpointOverflowUsage() {
+        val metrics = HttpMetrics(maxEndpoints = 2)
+        end(metrics, "/a")
+        end(metrics, "/b")
+        end(metrics, "/c")
+        end(metrics, "/d", failed = true)
+        // The endpoints recorded before the limit are still used.
+        end(metrics, "/a")
+        val snapshots = metrics.snapshot().associateBy { it.path }
+        assertEquals(setOf("/a", "/b", "*"), snapshots.keys)
+        assertEquals(2L, snapshots.getValue("/a").phases.getValue(HttpPhase.TOTAL).count)
+        assertEquals(1L, snapshots.getValue("/b").phases.getValue(HttpPhase.TOTAL).count)
+        // The failed call is counted but its total is not recorded.
+        val other = snapshots.getValue("*")
+        assertEquals("127.0.0.1", other.host)
+        assertEquals(1L, other.failures)
+        assertEquals(1L, other.phases.getValue(HttpPhase.TOTAL).count)
+    }
+
+    @Test
+    fun followUpUsage() {
+        val call = client.newCall(Request.Builder().url("http://127.0.0.1:7777/a").build())
+        val listener = HttpTimingListener(HttpMetrics())
+        listener.callStart(call)
+        listener.requestHeadersStart(call)
+        listener.requestHeadersEnd(call, call.request())
+        listener.responseHeadersStart(call)
+        Thread.sleep(100)
+        // A follow-up whose response starts before its request ends, the
+        // time between the two requests is not time to first byte.
+        listener.requestHeadersStart(call)
+        listener.responseHeadersStart(call)
+        listener.callEnd(call)
+        val ttfb = TimeUnit.NANOSECONDS.toMillis(listener.timing.nanos(HttpPhase.TTFB))
+        assertTrue("ttfb=${ttfb}ms", ttfb < 100)
+    }
+
+    /** End a call to [path] without sending it. */
+    private fun end(metrics: HttpMetrics, path: String, failed: Boolean = false) {
+        val call = client.newCall(Request.Builder().url("http://127.0.0.1:7777$path").build())
+        val listener = HttpTimingListener(metrics)
+        listener.callStart(call)
+        if (failed) listener.callFailed(call, IOException("Canceled.")) else listener.callEnd(call)
+    }
+
+}
@@ -32,10 +32,14 @@ package simple/*
  *
  */
 
+import com.log.vastgui.okhttp.Okhttp3Interceptor
+import com.log.vastgui.okhttp.metrics.HttpMetrics
+import logcat
 import okhttp
 import okhttp3.FormBody
 import okhttp3.MediaType
 import okhttp3.MediaType.Companion.toMediaTypeOrNull
+import okhttp3.OkHttpClient
 import okhttp3.Request
 import okhttp3.RequestBody
 import okhttp3.Response
@@ -44,6 +48,7 @@ import okhttp3.sse.EventSourceListener
 import okhttp3.sse.EventSources.createFactory
 import org.junit.Test
 import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
 
 
 // Author: Vast Gui
@@ -68,6 +73,48 @@ class SimpleTest {
         okhttp.newCall(request).execute()
     }
 
+    @Test
+    fun truncatedRequest() {
+        val client = OkHttpClient.Builder()
+            .addInterceptor(Okhttp3Interceptor(logcat).apply { maxBodyBytes = 64 })
+            .build()
+        val request: Request = Request.Builder()
+            .url("http://127.0.0.1:7777/content")
+            .build()
+        // The whole body is still returned to the caller.
+        val body = client.newCall(request).execute().body?.string()
+        println("The length of body is ${body?.length}")
+    }
+
+    @Test
+    fun metricsRequest() {
+        val metrics = HttpMetrics()
+        val client = OkHttpClient.Builder()
+            .eventListenerFactory(metrics.eventListenerFactory)
+            .addInterceptor(Okhttp3Interceptor(logcat).apply { httpMetrics = metrics })
+            .build()
+        val request: Request = Request.Builder()
+            .url("http://127.0.0.1:7777")
+            .build()
+        repeat(3) { client.newCall(request).execute().close() }
+        metrics.snapshot().forEach { println(it) }
+    }
+
+    @Test
+    fun samplingRequest() {
+        val client = OkHttpClient.Builder()
+            .addInterceptor(Okhttp3Interceptor(logcat)
+                .sampling(1.0, status = 500..599)
+                .sampling(0.01, status = 200..299)
+                .apply { renderExecutor = Executor { it.run() } })
+            .build()
+        val request: Request = Request.Builder()
+            .url("http://127.0.0.1:7777")
+            .build()
+        // About one of the hundred calls is logged.
+        repeat(100) { client.newCall(request).execute().close() }
+    }
+
     @Test
     fun postRequest() {
         val json = "{\"id\":1,\"name\":\"John\"}"
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.remote
+
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.IOException
+import java.net.HttpURLConnection
+import java.net.InetSocketAddress
+import java.net.Socket
+import java.net.URL
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/3
+// Documentation: https://ave.entropy2020.cn/documents/log/log-remote/
+
+/**
+ * Default connect and read timeout of [LogTransport] in milliseconds.
+ *
+ * @since 1.3.11
+ */
+const val DEFAULT_TRANSPORT_TIMEOUT = 10_000
+
+/**
+ * Send a batch of logs to the collector.
+ *
+ * @see RemoteStore
+ * @since 1.3.11
+ */
+fun interface LogTransport {
+
+    /**
+     * Send [payload], which is the gzip compressed logs of a batch
+     * separated by `\n`. It should throw if the collector does not
+     * receive the batch, so that the batch is retried later.
+     *
+     * @since 1.3.11
+     */
+    @Throws(IOException::class)
+    fun send(payload: ByteArray)
+
+    companion object
+}
+
+/**
+ * Post each batch to [url] with `Content-Encoding: gzip`, a response
+ * code other than 2xx is treated as a failure.
+ *
+ * ```kotlin
+ * LogTransport.http("http://192.168.1.2:7777/logs")
+ * ```
+ *
+ * @param headers Extra headers of the request, for example a token.
+ * @since 1.3.11
+ */
+@JvmOverloads
+fun LogTransport.Companion.http(
+    url: String,
+    headers: Map<String, String> = emptyMap(),
+    timeoutMillis: Int = DEFAULT_TRANSPORT_TIMEOUT
+): LogTransport = HttpTransport(URL(url), headers, timeoutMillis)
+
+/**
+ * Write each batch to a raw TCP connection as a 4 bytes big-endian length
+ * followed by the payload, then wait for a single `1` byte from the
+ * collector as acknowledgement. The connection is kept open and reopened
+ * after a failure.
+ *
+ * ```kotlin
+ * LogTransport.tcp("192.168.1.2", 7778)
+ * ```
+ *
+ * @since 1.3.11
+ */
+@JvmOverloads
+fun LogTransport.Companion.tcp(
+    host: String,
+    port: Int,
+    timeoutMillis: Int = DEFAULT_TRANSPORT_TIMEOUT
+): LogTransport = TcpTransport(host, port, timeoutMillis)
+
+/** @since 1.3.11 */
+internal class HttpTransport(
+    private val url: URL,
+    private val headers: Map<String, String>,
+    private val timeoutMillis: Int
+) : LogTransport {
+
+    override fun send(payload: ByteArray) {
+        val connection = url.openConnection() as HttpURLConnection
+        try {
+            connection.requestMethod = "POST"
+            connection.doOutput = true
+            connection.connectTimeout = timeoutMillis
+            connection.readTimeout = timeoutMillis
+            connection.setFixedLengthStreamingMode(payload.size)
+            connection.setRequestProperty("Content-Type", "text/plain; charset=utf-8")
+            connection.setRequestProperty("Content-Encoding", "gzip")
+            headers.forEach { (name, value) -> connection.setRequestProperty(name, value) }
+            connection.outputStream.use { it.write(payload) }
+            val code = connection.responseCode
+            (if (code < 400) connection.inputStream else connection.errorStream)?.use { it.readBytes() }
+            if (code !in 200..299) throw IOException("The collector responded $code.")
+        } finally {
+            connection.disconnect()
+        }
+    }
+}
+
+/** @since 1.3.11 */
+internal class TcpTransport(
+    private val host: String,
+    private val port: Int,
+    private val timeoutMillis: Int
+) : LogTransport {
+
+    private var mSocket: Socket? = null
+
+    @Synchronized
+    override fun send(payload: ByteArray) {
+        try {
+            val socket = mSocket ?: connect().also { mSocket = it }
+            val output = DataOutputStream(socket.getOutputStream())
+            output.writeInt(payload.size)
+            output.write(payload)
+            output.flush()
+            val ack = DataInputStream(socket.getInputStream()).read()
+            if (ACK != ack) throw IOException("Unexpected acknowledgement $ack.")
+        } catch (exception: IOException) {
+            runCatching { mSocket?.close() }
+            mSocket = null
+            throw exception
+        }
+    }
+
+    private fun connect(): Socket {
+        val socket = Socket()
+        socket.connect(InetSocketAddress(host, port), timeoutMillis)
+        socket.soTimeout = timeoutMillis
+        return socket
+    }
+
+    companion object {
+        private const val ACK = 1
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.remote
+
+import com.log.vastgui.core.base.LogFormat
+import com.log.vastgui.core.base.LogInfo
+import com.log.vastgui.core.base.LogStore
+import com.log.vastgui.core.format.LineFormat
+import java.io.ByteArrayOutputStream
+import java.io.Closeable
+import java.io.File
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import java.util.zip.GZIPOutputStream
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/3
+// Documentation: https://ave.entropy2020.cn/documents/log/log-remote/
+
+/** @since 1.3.11 */
+const val DEFAULT_BATCH_SIZE = 200
+
+/** @since 1.3.11 */
+const val DEFAULT_LINGER_MILLIS = 5_000L
+
+/** @since 1.3.11 */
+const val DEFAULT_REMOTE_CAPACITY = 10_000
+
+/** @since 1.3.11 */
+const val DEFAULT_MAX_SPILL_BYTES = 16L * 1024 * 1024
+
+/** @since 1.3.11 */
+const val DEFAULT_MAX_BACKOFF_MILLIS = 60_000L
+
+/**
+ * Remote log store.
+ *
+ * ```kotlin
+ * val logFactory: LogFactory = getLogFactory {
+ *     ...
+ *     install(LogStorage) {
+ *         logStore = LogStore.remote(
+ *             LogTransport.http("http://192.168.1.2:7777/logs"),
+ *             File(context.cacheDir, "log-spill")
+ *         )
+ *     }
+ * }
+ * ```
+ *
+ * @param transport How the batches are sent to the collector.
+ * @param spillDir Folder to keep the batches that could not be sent,
+ * `null` to keep them in memory.
+ * @param logFormat The format of the log sent to the collector.
+ * @since 1.3.11
+ */
+@JvmOverloads
+fun LogStore.Companion.remote(
+    transport: LogTransport,
+    spillDir: File? = null,
+    logFormat: LogFormat = LineFormat,
+    batchSize: Int = DEFAULT_BATCH_SIZE,
+    lingerMillis: Long = DEFAULT_LINGER_MILLIS,
+    maxSpillBytes: Long = DEFAULT_MAX_SPILL_BYTES
+): RemoteStore = RemoteStore(
+    transport, spillDir, logFormat, batchSize, lingerMillis, DEFAULT_REMOTE_CAPACITY,
+    maxSpillBytes, DEFAULT_MAX_BACKOFF_MILLIS
+)
+
+/**
+ * Ship logs to a collector.
+ *
+ * Logs are queued and sent by a daemon thread in batches of at most
+ * [batchSize] logs, a batch is sent once it is full or [lingerMillis]
+ * after its first log. Each batch is gzip compressed. If a batch can not
+ * be sent, it is spilled to [spillDir] and sending is retried with an
+ * exponential backoff up to [maxBackoffMillis]. Once the collector is
+ * reachable again, the spilled batches are sent first, oldest first.
+ *
+ * @property transport How the batches are sent to the collector.
+ * @property spillDir Folder to keep the batches that could not be sent.
+ * @property batchSize Maximum number of logs of a batch.
+ * @property lingerMillis Maximum time a log waits for its batch to fill.
+ * @property capacity Capacity of the queue, logs are dropped when it is
+ * full.
+ * @property maxSpillBytes Maximum size of the spilled batches, the oldest
+ * batches are dropped when it is exceeded.
+ * @property maxBackoffMillis Maximum delay between two retries.
+ * @since 1.3.11
+ */
+class RemoteStore internal constructor(
+    val transport: LogTransport,
+    val spillDir: File?,
+    override val logFormat: LogFormat,
+    val batchSize: Int,
+    val lingerMillis: Long,
+    val capacity: Int,
+    val maxSpillBytes: Long,
+    val maxBackoffMillis: Long
+) : LogStore, Closeable {
+
+    init {
+        require(batchSize > 0) { "batchSize($batchSize) should be positive." }
+        require(lingerMillis > 0) { "lingerMillis($lingerMillis) should be positive." }
+        require(capacity > 0) { "capacity($capacity) should be positive." }
+        require(maxBackoffMillis > 0) { "maxBackoffMillis($maxBackoffMillis) should be positive." }
+    }
+
+    private val mQueue = ArrayBlockingQueue<String>(capacity)
+
+    private val mDropped = AtomicLong(0)
+
+    private val mSpill = SpillQueue(spillDir, maxSpillBytes)
+
+    /** Delay before the next retry, `0` if the last attempt succeeded. */
+    private var mBackoffMillis = 0L
+
+    /** The time the next attempt is allowed. */
+    private var mNextAttemptMillis = 0L
+
+    @Volatile
+    private var isClosed = false
+
+    private val mThread = Thread(::loop, "RemoteStore").apply { isDaemon = true }
+
+    /**
+     * The number of logs dropped because the queue was full, or because
+     * their batch was dropped from the spill.
+     *
+     * @since 1.3.11
+     */
+    val droppedCount: Long
+        get() = mDropped.get()
+
+    override fun store(logInfo: LogInfo) {
+        enqueue(logFormat.format(logInfo))
+    }
+
+    override fun store(logInfo: LogInfo, content: String) {
+        enqueue(content)
+    }
+
+    /**
+     * Send the queued logs and stop the thread, the logs that can not be
+     * sent are spilled. It blocks until the thread stops.
+     *
+     * @since 1.3.11
+     */
+    override fun close() {
+        isClosed = true
+        mThread.interrupt()
+        mThread.join()
+    }
+
+    private fun enqueue(content: String) {
+        if (isClosed || !mQueue.offer(content)) mDropped.incrementAndGet()
+    }
+
+    private fun loop() {
+        val batch = ArrayList<String>(batchSize)
+        while (!isClosed || mQueue.isNotEmpty()) {
+            try {
+                collect(batch)
+            } catch (exception: InterruptedException) {
+                // Closed, send what is left without waiting.
+                mQueue.drainTo(batch, batchSize - batch.size)
+            }
+            if (batch.isNotEmpty()) {
+                deliver(gzip(batch), batch.size)
+                batch.clear()
+            } else {
+                drainSpill()
+            }
+        }
+    }
+
+    /** Fill [batch] until it is full or [lingerMillis] has passed. */
+    private fun collect(batch: MutableList<String>) {
+        if (isClosed) {
+            mQueue.drainTo(batch, batchSize)
+            return
+        }
+        val first = mQueue.poll(lingerMillis, TimeUnit.MILLISECONDS) ?: return
+        batch.add(first)
+        val deadline = System.currentTimeMillis() + lingerMillis
+        while (batch.size < batchSize) {
+            val remaining = deadline - System.currentTimeMillis()
+            if (remaining <= 0) return
+            batch.add(mQueue.poll(remaining, TimeUnit.MILLISECONDS) ?: return)
+        }
+    }
+
+    /** Send [payload] of [count] logs, or spill it. */
+    private fun deliver(payload: ByteArray, count: Int) {
+        if (!mSpill.isEmpty) drainSpill()
+        if (!mSpill.isEmpty || !trySend(payload)) spill(payload, count)
+    }
+
+    /** Send the spilled batches until one fails. */
+    private fun drainSpill() {
+        while (true) {
+            val batch = mSpill.peek() ?: return
+            if (!trySend(batch)) return
+            mSpill.remove()
+        }
+    }
+
+    private fun spill(payload: ByteArray, count: Int) {
+        mDropped.addAndGet(mSpill.add(payload, count).toLong())
+    }
+
+    /** Return `false` if sending failed or is not allowed yet. */
+    private fun trySend(payload: ByteArray): Boolean {
+        if (System.currentTimeMillis() < mNextAttemptMillis) return false
+        return runCatching { transport.send(payload) }
+            .onSuccess { mBackoffMillis = 0L }
+            .onFailure {
+                mBackoffMillis = (mBackoffMillis * 2)
+                    .coerceAtLeast(INITIAL_BACKOFF_MILLIS)
+                    .coerceAtMost(maxBackoffMillis)
+                mNextAttemptMillis = System.currentTimeMillis() + mBackoffMillis
+            }
+            .isSuccess
+    }
+
+    private fun gzip(batch: List<String>): ByteArray {
+        val output = ByteArrayOutputStream()
+        GZIPOutputStream(output).bufferedWriter(Charsets.UTF_8).use { writer ->
+            batch.forEachIndexed { index, content ->
+                if (index > 0) writer.write("\n")
+                writer.write(content)
+            }
+        }
+        return output.toByteArray()
+    }
+
+    init {
+        mThread.start()
+    }
+
+    companion object {
+        private const val INITIAL_BACKOFF_MILLIS = 1_000L
+    }
+}
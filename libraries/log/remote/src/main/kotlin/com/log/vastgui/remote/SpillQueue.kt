@@ -0,0 +1,132 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.remote
+
+import java.io.File
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/3
+
+/**
+ * Batches that could not be sent, oldest first. They are kept as files in
+ * [dir] so that they survive a restart, or in memory if [dir] is `null`.
+ * When the total size exceeds [maxBytes], the oldest batches are dropped.
+ *
+ * It is only used by the thread of [RemoteStore].
+ *
+ * @since 1.3.11
+ */
+internal class SpillQueue(private val dir: File?, private val maxBytes: Long) {
+
+    private val mFiles = ArrayDeque<File>()
+
+    private val mBatches = ArrayDeque<ByteArray>()
+
+    /** The number of logs of each batch in [mBatches]. */
+    private val mCounts = ArrayDeque<Int>()
+
+    private var mBytes = 0L
+
+    private var mCount = 0L
+
+    init {
+        if (null != dir) {
+            dir.mkdirs()
+            // Batches left by the last run are sent first.
+            dir.listFiles { file -> file.name.endsWith(SUFFIX) }
+                ?.sortedBy { it.name }
+                ?.forEach {
+                    mFiles.addLast(it)
+                    mBytes += it.length()
+                }
+        }
+    }
+
+    val isEmpty: Boolean
+        get() = mFiles.isEmpty() && mBatches.isEmpty()
+
+    /**
+     * Add [batch] of [count] logs.
+     *
+     * @return The number of logs dropped because [batch] could not be
+     * written or [maxBytes] was exceeded.
+     */
+    fun add(batch: ByteArray, count: Int): Int {
+        if (null == dir) {
+            mBatches.addLast(batch)
+            mCounts.addLast(count)
+        } else {
+            val name = String.format(
+                "%013d-%06d-%d%s", System.currentTimeMillis(), mCount++ % 1_000_000, count, SUFFIX
+            )
+            val file = File(dir, name)
+            runCatching { file.writeBytes(batch) }.onFailure { return count }
+            mFiles.addLast(file)
+        }
+        mBytes += batch.size
+        var dropped = 0
+        while (mBytes > maxBytes && !isEmpty) {
+            mBytes -= sizeOfFirst()
+            dropped += countOfFirst()
+            removeFirst()
+        }
+        return dropped
+    }
+
+    /** The oldest batch, or `null` if there is none. */
+    fun peek(): ByteArray? {
+        if (null == dir) return mBatches.firstOrNull()
+        while (mFiles.isNotEmpty()) {
+            val file = mFiles.first()
+            val batch = runCatching { file.readBytes() }.getOrNull()
+            if (null != batch) return batch
+            // The file is broken or deleted, skip it.
+            mBytes -= file.length()
+            mFiles.removeFirst().delete()
+        }
+        return null
+    }
+
+    /** Remove the batch returned by [peek]. */
+    fun remove() {
+        if (isEmpty) return
+        mBytes -= sizeOfFirst()
+        removeFirst()
+    }
+
+    private fun sizeOfFirst(): Long =
+        if (null == dir) mBatches.first().size.toLong() else mFiles.first().length()
+
+    /** The number of logs of the oldest batch, kept in its file name. */
+    private fun countOfFirst(): Int =
+        if (null == dir) mCounts.first()
+        else mFiles.first().name.removeSuffix(SUFFIX).substringAfterLast('-').toIntOrNull() ?: 1
+
+    private fun removeFirst() {
+        if (null == dir) {
+            mBatches.removeFirst()
+            mCounts.removeFirst()
+        } else {
+            mFiles.removeFirst().delete()
+        }
+    }
+
+    companion object {
+        private const val SUFFIX = ".batch.gz"
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.remote
+
+import com.log.vastgui.core.base.LogInfo
+import com.log.vastgui.core.base.LogLevel
+import com.log.vastgui.core.base.LogStore
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.io.IOException
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.zip.GZIPInputStream
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/3
+
+class RemoteTest {
+
+    private val trace = Throwable().stackTrace[0]
+
+    @Test
+    fun spillUsage() {
+        val online = AtomicBoolean(false)
+        val failed = CountDownLatch(1)
+        val sent = CountDownLatch(3)
+        val received = mutableListOf<String>()
+        val transport = LogTransport { payload ->
+            if (!online.get()) {
+                failed.countDown()
+                throw IOException("The collector is offline.")
+            }
+            received += GZIPInputStream(payload.inputStream()).reader().readText().split("\n")
+            sent.countDown()
+        }
+        val store = LogStore.remote(transport, batchSize = 3, lingerMillis = 100)
+        repeat(7) { store.store(logInfo("Log $it"), "Log $it") }
+        // Batches are spilled while the collector is offline.
+        assertTrue(failed.await(5, TimeUnit.SECONDS))
+        online.set(true)
+        // Spilled batches are sent first once the backoff has passed.
+        assertTrue(sent.await(10, TimeUnit.SECONDS))
+        store.store(logInfo("Log 7"), "Log 7")
+        store.close()
+        assertEquals(List(8) { "Log $it" }, received)
+        assertEquals(0L, store.droppedCount)
+    }
+
+    @Test
+    fun droppedUsage() {
+        val transport = LogTransport { throw IOException("The collector is offline.") }
+        // Every spilled batch exceeds maxSpillBytes and is dropped.
+        val store = LogStore.remote(transport, batchSize = 3, lingerMillis = 100, maxSpillBytes = 1)
+        repeat(7) { store.store(logInfo("Log $it"), "Log $it") }
+        store.close()
+        assertEquals(7L, store.droppedCount)
+    }
+
+    private fun logInfo(content: String) =
+        LogInfo("main", trace, LogLevel.INFO, "RemoteTest", System.currentTimeMillis(), content)
+
+}
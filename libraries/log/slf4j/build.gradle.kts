@@ -49,11 +49,13 @@ kotlin.sourceSets.all {
 dependencies {
     compileOnly(projects.libraries.kernel)
     compileOnly(projects.libraries.log.core)
+    compileOnly(libs.kotlinx.coroutines.core)
     implementation(libs.slf4j.api)
     testImplementation(libs.fastjson2)
     testImplementation(libs.gson)
     testImplementation(libs.jackson.databind)
     testImplementation(libs.junit)
+    testImplementation(libs.kotlinx.coroutines.core)
     testImplementation(projects.libraries.kernel)
     testImplementation(projects.libraries.log.core)
     testImplementation(projects.libraries.log.desktop)
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.slf4j
+
+import java.util.stream.Stream
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/4
+// Documentation: https://ave.entropy2020.cn/documents/log/log-slf4j/usage/
+
+/**
+ * Locate the caller of the logging API, that is the first frame after the
+ * frames of the boundary classes.
+ *
+ * [StackWalker] is used when it is available, so only the frames up to
+ * the caller are walked. Otherwise, for example on Android, the whole
+ * stack trace is captured by [Throwable.getStackTrace].
+ *
+ * @since 1.3.11
+ */
+internal object CallerLocator {
+
+    /** @since 1.3.11 */
+    private val UNKNOWN = StackTraceElement("Unknown", "unknown", null, -1)
+
+    /** @since 1.3.11 */
+    private val isStackWalkerAvailable: Boolean =
+        runCatching { Class.forName("java.lang.StackWalker") }.isSuccess
+
+    /**
+     * Returns the frame after the last frame of [boundary].
+     *
+     * @since 1.3.11
+     */
+    fun locate(boundary: String): StackTraceElement = locate { it == boundary }
+
+    /**
+     * Returns the frame after the frames whose class name matches
+     * [isBoundary].
+     *
+     * @since 1.3.11
+     */
+    fun locate(isBoundary: (String) -> Boolean): StackTraceElement {
+        val caller = if (isStackWalkerAvailable) {
+            Walker.locate(isBoundary)
+        } else {
+            Throwable().stackTrace.asSequence()
+                .dropWhile { !isBoundary(it.className) }
+                .dropWhile { isBoundary(it.className) }
+                .firstOrNull()
+        }
+        return caller ?: UNKNOWN
+    }
+
+    /**
+     * Kept apart from [CallerLocator] so that [StackWalker] is only loaded
+     * when it is available.
+     *
+     * @since 1.3.11
+     */
+    private object Walker {
+        private val walker = StackWalker.getInstance()
+
+        fun locate(isBoundary: (String) -> Boolean): StackTraceElement? =
+            walker.walk { frames: Stream<StackWalker.StackFrame> ->
+                frames.dropWhile { !isBoundary(it.className) }
+                    .dropWhile { isBoundary(it.className) }
+                    .findFirst()
+                    .map { it.toStackTraceElement() }
+                    .orElse(null)
+            }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.slf4j
+
+import com.log.vastgui.core.LogFactory
+import com.log.vastgui.core.annotation.LogExperimental
+import com.log.vastgui.core.base.LogLevel
+import org.slf4j.LoggerFactory
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/6
+// Documentation: https://ave.entropy2020.cn/documents/log/log-slf4j/usage/
+
+/**
+ * Configuration of the loggers created by [Slf4jProvider], by logger name.
+ *
+ * Like logback, a setting of `com.squareup.okhttp3` applies to all the
+ * loggers whose name is in this hierarchy, such as
+ * `com.squareup.okhttp3.OkHttpClient`, unless a deeper name overrides it.
+ * The empty name `""` is the root. The settings are resolved once when a
+ * logger is created by [LoggerFactory.getLogger].
+ *
+ * ```kotlin
+ * Slf4jProvider.Options.setFactory(logFactory) {
+ *     level("", LogLevel.INFO)
+ *     level("com.squareup.okhttp3", LogLevel.WARN)
+ *     factory("com.myapp", appLogFactory)
+ * }
+ * ```
+ *
+ * @since 1.3.11
+ */
+@LogExperimental
+class Slf4jConfiguration internal constructor() {
+
+    /** @since 1.3.11 */
+    internal val tree = LoggerNameTree<Settings>()
+
+    /**
+     * Logs of the loggers in [name] below [level] are ignored.
+     *
+     * @since 1.3.11
+     */
+    fun level(name: String, level: LogLevel) = apply {
+        tree.getOrPut(name) { Settings() }.level = level
+    }
+
+    /**
+     * The loggers in [name] log with [logFactory] instead of the factory of
+     * [Slf4jProvider.Options.setFactory].
+     *
+     * @since 1.3.11
+     */
+    fun factory(name: String, logFactory: LogFactory) = apply {
+        tree.getOrPut(name) { Settings() }.factory = logFactory
+    }
+
+    /** @since 1.3.11 */
+    internal class Settings {
+        var level: LogLevel? = null
+        var factory: LogFactory? = null
+    }
+}
+
+/**
+ * Prefix tree of dot separated logger names.
+ *
+ * @since 1.3.11
+ */
+internal class LoggerNameTree<T : Any> {
+
+    private class Node<T : Any> {
+        val children = HashMap<String, Node<T>>()
+        var value: T? = null
+    }
+
+    private val root = Node<T>()
+
+    fun getOrPut(name: String, defaultValue: () -> T): T {
+        var node = root
+        forEachSegment(name) { segment ->
+            node = node.children.getOrPut(segment) { Node() }
+            true
+        }
+        return node.value ?: defaultValue().also { node.value = it }
+    }
+
+    /**
+     * Visit the values from the root to the deepest node in [name], so a
+     * deeper value can override the previous one.
+     */
+    fun forEachInPath(name: String, action: (T) -> Unit) {
+        var node = root
+        node.value?.let(action)
+        forEachSegment(name) { segment ->
+            node = node.children[segment] ?: return@forEachSegment false
+            node.value?.let(action)
+            true
+        }
+    }
+
+    private inline fun forEachSegment(name: String, action: (String) -> Boolean) {
+        if (name.isEmpty()) return
+        var start = 0
+        while (start <= name.length) {
+            val end = name.indexOf('.', start).let { if (it < 0) name.length else it }
+            if (!action(name.substring(start, end))) return
+            start = end + 1
+        }
+    }
+}
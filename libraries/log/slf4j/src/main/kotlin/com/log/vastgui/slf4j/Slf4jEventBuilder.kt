@@ -38,10 +38,11 @@ import java.util.function.Supplier
  */
 internal class Slf4jEventBuilder(
     private val logcat: LogCat,
+    /** @since 1.3.11 */
+    private val name: String,
     private val level: Level,
 ) : LoggingEventBuilder, CallerBoundaryAware {
 
-    private val FQCN: String = Slf4jEventBuilder::class.java.getName()
     private var mFqcn: String? = FQCN
     private var mMessage: String? = null
     private var mCause: Throwable? = null
@@ -93,16 +94,15 @@ internal class Slf4jEventBuilder(
     }
 
     override fun log() {
-        val stackTrace = Throwable().stackTrace
-        val index = stackTrace
-            .indexOfLast { it.className == this::class.java.name && it.methodName == "log" }
-            .coerceAtLeast(0)
         val level = convertLevel(level)
-        val tag = convertMarker(mMarker, logcat.tag)
+        val tag = convertMarker(mMarker, name)
         val content = MessageFormatter.basicArrayFormat(mMessage, mArguments.toTypedArray())
         val kv = if (null == mKeyValuePairs) "" else "$mKeyValuePairs "
         val cause = if (null != mCause) mCause else MessageFormatter.getThrowableCandidate(mArguments.toTypedArray())
-        logcat.log(level, tag, "$kv$content", cause, stackTrace[index + 1])
+        // The frames of this builder come before the frames of mFqcn.
+        val fqcn = mFqcn ?: FQCN
+        val trace = CallerLocator.locate { it == fqcn || it == FQCN }
+        logcat.log(level, tag, "$kv$content", cause, trace, Slf4jMDCAdapter.current())
     }
 
     override fun log(message: String?) {
@@ -133,4 +133,9 @@ internal class Slf4jEventBuilder(
     override fun setCallerBoundary(fqcn: String?) {
         this.mFqcn = fqcn
     }
+
+    companion object {
+        /** @since 1.3.11 */
+        private val FQCN: String = Slf4jEventBuilder::class.java.name
+    }
 }
\ No newline at end of file
@@ -16,8 +16,10 @@
 
 package com.log.vastgui.slf4j
 
+import com.log.vastgui.core.LogCat
 import com.log.vastgui.core.LogFactory
 import com.log.vastgui.core.annotation.LogExperimental
+import com.log.vastgui.core.base.LogLevel
 import org.slf4j.ILoggerFactory
 import org.slf4j.Logger
 import java.util.concurrent.ConcurrentHashMap
@@ -31,23 +33,45 @@ import java.util.concurrent.ConcurrentMap
 /**
  * [Slf4jFactory] Use [LogFactory] to create [Slf4jLogger].
  *
+ * The loggers with the same [LogFactory] share one [LogCat], so the
+ * plugins are installed once per factory rather than once per logger name
+ * or level, the level is applied by each [Slf4jLogger].
+ *
+ * @param configuration Configuration by logger name. (since 1.3.11)
  * @since 1.3.7
  */
 @LogExperimental
-internal class Slf4jFactory(private val logFactory: LogFactory) : ILoggerFactory {
+internal class Slf4jFactory(
+    private val logFactory: LogFactory,
+    private val configuration: Slf4jConfiguration = Slf4jConfiguration()
+) : ILoggerFactory {
 
     /** @since 1.3.7 */
     private val logcatMap: ConcurrentMap<String, Logger> = ConcurrentHashMap()
 
+    /**
+     * [LogCat] by [LogFactory], the factory is compared by identity.
+     *
+     * @since 1.3.11
+     */
+    private val sharedLogcatMap: ConcurrentMap<LogFactory, LogCat> = ConcurrentHashMap()
+
     override fun getLogger(name: String): Logger {
         val oldValue: Logger? = logcatMap[name]
         if (null != oldValue) return oldValue
-        return createLogger(name).also { logcatMap.putIfAbsent(name, it) }
+        return logcatMap.putIfAbsent(name, createLogger(name)) ?: logcatMap.getValue(name)
     }
 
     /** @since 1.3.7 */
     private fun createLogger(name: String): Logger {
-        return Slf4jLogger(logFactory(name))
+        var factory = logFactory
+        var level: LogLevel = LogLevel.VERBOSE
+        configuration.tree.forEachInPath(name) { settings ->
+            settings.factory?.let { factory = it }
+            settings.level?.let { level = it }
+        }
+        val logcat = sharedLogcatMap.computeIfAbsent(factory) { factory() }
+        return Slf4jLogger(name, logcat, level)
     }
 
 }
\ No newline at end of file
@@ -18,12 +18,21 @@ package com.log.vastgui.slf4j
 
 import com.log.vastgui.core.LogCat
 import com.log.vastgui.core.annotation.LogExperimental
+import com.log.vastgui.core.base.LogLevel
+import com.log.vastgui.core.base.LogLevel.DEBUG
+import com.log.vastgui.core.base.LogLevel.ERROR
+import com.log.vastgui.core.base.LogLevel.INFO
+import com.log.vastgui.core.base.LogLevel.VERBOSE
+import com.log.vastgui.core.base.LogLevel.WARN
 import com.log.vastgui.core.plugin.LogPrinter
+import com.log.vastgui.core.plugin.LogRouter
 import com.log.vastgui.core.plugin.LogStorage
+import com.log.vastgui.core.plugin.LogSwitch
 import com.log.vastgui.slf4j.convert.convertLevel
 import com.log.vastgui.slf4j.convert.convertMarker
 import org.slf4j.Marker
 import org.slf4j.event.Level
+import org.slf4j.helpers.AbstractLogger
 import org.slf4j.helpers.LegacyAbstractLogger
 import org.slf4j.helpers.MessageFormatter
 import org.slf4j.spi.LoggingEventBuilder
@@ -36,66 +45,67 @@ import org.slf4j.spi.LoggingEventBuilder
 /**
  * [Slf4jLogger].
  *
+ * @param name The name of the logger, it is the default tag of the logs.
+ * (since 1.3.11)
+ * @param logcat The [LogCat] of the logger, it may be shared by the
+ * loggers with the same configuration.
+ * @param level Logs below the level are ignored. (since 1.3.11)
+ * @see Slf4jConfiguration
  * @since 1.3.7
  */
 @LogExperimental
-internal class Slf4jLogger(private val logcat: LogCat) : LegacyAbstractLogger() {
+internal class Slf4jLogger(
+    name: String,
+    private val logcat: LogCat,
+    private val level: LogLevel
+) : LegacyAbstractLogger() {
+
+    init {
+        this.name = name
+    }
 
     /**
-     * For [LogCat], its log level control is controlled by [LogPrinter] and
-     * [LogStorage], so it is returned by default here `true`.
+     * Whether a log of the level would be output by [logcat], based on
+     * [level], [LogSwitch] and the level configuration of [LogPrinter],
+     * [LogStorage] and [LogRouter].
      *
-     * @see LogPrinter.levelMap
-     * @see LogStorage.levelMap
+     * @see LogCat.isLoggable
      * @since 1.3.7
      */
-    override fun isTraceEnabled() = true
+    override fun isTraceEnabled() = isLoggable(VERBOSE)
 
     /**
-     * For [LogCat], its log level control is controlled by [LogPrinter] and
-     * [LogStorage], so it is returned by default here `true`.
-     *
-     * @see LogPrinter.levelMap
-     * @see LogStorage.levelMap
+     * @see isTraceEnabled
      * @since 1.3.7
      */
-    override fun isDebugEnabled() = true
+    override fun isDebugEnabled() = isLoggable(DEBUG)
 
     /**
-     * For [LogCat], its log level control is controlled by [LogPrinter] and
-     * [LogStorage], so it is returned by default here `true`.
-     *
-     * @see LogPrinter.levelMap
-     * @see LogStorage.levelMap
+     * @see isTraceEnabled
      * @since 1.3.7
      */
-    override fun isInfoEnabled() = true
+    override fun isInfoEnabled() = isLoggable(INFO)
 
     /**
-     * For [LogCat], its log level control is controlled by [LogPrinter] and
-     * [LogStorage], so it is returned by default here `true`.
-     *
-     * @see LogPrinter.levelMap
-     * @see LogStorage.levelMap
+     * @see isTraceEnabled
      * @since 1.3.7
      */
-    override fun isWarnEnabled() = true
+    override fun isWarnEnabled() = isLoggable(WARN)
 
     /**
-     * For [LogCat], its log level control is controlled by [LogPrinter] and
-     * [LogStorage], so it is returned by default here `true`.
-     *
-     * @see LogPrinter.levelMap
-     * @see LogStorage.levelMap
+     * @see isTraceEnabled
      * @since 1.3.7
      */
-    override fun isErrorEnabled() = true
+    override fun isErrorEnabled() = isLoggable(ERROR)
+
+    /** @since 1.3.11 */
+    private fun isLoggable(level: LogLevel) = level >= this.level && logcat.isLoggable(level)
 
     /** @since 1.3.7 */
-    override fun getFullyQualifiedCallerName() = logcat.tag
+    override fun getFullyQualifiedCallerName() = name
 
     override fun makeLoggingEventBuilder(level: Level): LoggingEventBuilder {
-        return Slf4jEventBuilder(logcat, level)
+        return Slf4jEventBuilder(logcat, name, level)
     }
 
     /**
@@ -111,8 +121,21 @@ internal class Slf4jLogger(private val logcat: LogCat) : LegacyAbstractLogger()
         throwable: Throwable?
     ) {
         val content = MessageFormatter.basicArrayFormat(messagePattern, arguments) ?: "null"
-        logcat.log(convertLevel(level), convertMarker(marker, logcat.tag), content,
-            throwable, Throwable().stackTrace[3])
+        logcat.log(convertLevel(level), convertMarker(marker, name), content,
+            throwable, CallerLocator.locate(BOUNDARY::contains), Slf4jMDCAdapter.current())
+    }
+
+    companion object {
+        /**
+         * Classes between the caller and [handleNormalizedLoggingCall].
+         *
+         * @since 1.3.11
+         */
+        private val BOUNDARY = setOf(
+            Slf4jLogger::class.java.name,
+            LegacyAbstractLogger::class.java.name,
+            AbstractLogger::class.java.name
+        )
     }
 
 }
\ No newline at end of file
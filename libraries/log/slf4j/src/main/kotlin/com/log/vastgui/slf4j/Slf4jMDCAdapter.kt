@@ -0,0 +1,132 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.slf4j
+
+import com.log.vastgui.core.base.LogInfo
+import org.slf4j.MDC
+import org.slf4j.helpers.ThreadLocalMapOfStacks
+import org.slf4j.spi.MDCAdapter
+import java.util.Collections
+import java.util.Deque
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/5
+// Documentation: https://ave.entropy2020.cn/documents/log/log-slf4j/usage/
+
+/**
+ * [MDCAdapter] of [Slf4jProvider], its entries are attached to
+ * [LogInfo.context] of each log.
+ *
+ * The map of each thread is copy-on-write: [put] and [remove] replace it
+ * with a modified copy, so taking a snapshot for a log is a read of the
+ * thread local without any copy. MDC is written far less often than logs
+ * are sent. The map is not inherited by child threads, use
+ * [Slf4jMDCContext] to carry it to coroutines.
+ *
+ * @see Slf4jMDCContext
+ * @since 1.3.11
+ */
+class Slf4jMDCAdapter : MDCAdapter {
+
+    /** @since 1.3.11 */
+    private val mContextMap = object : ThreadLocal<Map<String, String>>() {
+        override fun initialValue(): Map<String, String> = emptyMap()
+    }
+
+    /** @since 1.3.11 */
+    private val mDequeMap = ThreadLocalMapOfStacks()
+
+    override fun put(key: String?, value: String?) {
+        requireNotNull(key) { "key cannot be null" }
+        if (null == value) {
+            remove(key)
+            return
+        }
+        val current = mContextMap.get()
+        if (current[key] == value) return
+        mContextMap.set(Collections.unmodifiableMap(HashMap(current).apply { put(key, value) }))
+    }
+
+    override fun get(key: String?): String? = mContextMap.get()[key]
+
+    override fun remove(key: String?) {
+        val current = mContextMap.get()
+        if (!current.containsKey(key)) return
+        mContextMap.set(
+            if (current.size == 1) emptyMap()
+            else Collections.unmodifiableMap(HashMap(current).apply { remove(key) })
+        )
+    }
+
+    override fun clear() {
+        mContextMap.remove()
+    }
+
+    override fun getCopyOfContextMap(): MutableMap<String, String> = HashMap(mContextMap.get())
+
+    override fun setContextMap(contextMap: MutableMap<String, String>?) {
+        if (contextMap.isNullOrEmpty()) {
+            mContextMap.set(emptyMap())
+        } else {
+            mContextMap.set(Collections.unmodifiableMap(HashMap(contextMap)))
+        }
+    }
+
+    override fun pushByKey(key: String?, value: String?) {
+        mDequeMap.pushByKey(key, value)
+    }
+
+    override fun popByKey(key: String?): String? = mDequeMap.popByKey(key)
+
+    override fun getCopyOfDequeByKey(key: String?): Deque<String>? = mDequeMap.getCopyOfDequeByKey(key)
+
+    override fun clearDequeByKey(key: String?) {
+        mDequeMap.clearDequeByKey(key)
+    }
+
+    /**
+     * The map of the current thread, it is never modified.
+     *
+     * @since 1.3.11
+     */
+    internal fun snapshot(): Map<String, String> = mContextMap.get()
+
+    /**
+     * Replace the map of the current thread with [snapshot].
+     *
+     * @since 1.3.11
+     */
+    internal fun restore(snapshot: Map<String, String>) {
+        mContextMap.set(snapshot)
+    }
+
+    companion object {
+        /**
+         * The MDC of the current thread. It is a copy unless the bound adapter
+         * is a [Slf4jMDCAdapter].
+         *
+         * @since 1.3.11
+         */
+        internal fun current(): Map<String, String> =
+            when (val adapter = MDC.getMDCAdapter()) {
+                is Slf4jMDCAdapter -> adapter.snapshot()
+                null -> emptyMap()
+                else -> adapter.copyOfContextMap ?: emptyMap()
+            }
+    }
+}
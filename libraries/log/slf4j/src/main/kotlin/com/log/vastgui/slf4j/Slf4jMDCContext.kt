@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021-2024 VastGui
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.log.vastgui.slf4j
+
+import kotlinx.coroutines.ThreadContextElement
+import org.slf4j.MDC
+import kotlin.coroutines.AbstractCoroutineContextElement
+import kotlin.coroutines.CoroutineContext
+
+// Author: Vast Gui
+// Email: guihy2019@gmail.com
+// Date: 2024/11/5
+// Documentation: https://ave.entropy2020.cn/documents/log/log-slf4j/usage/
+
+/**
+ * Bind [contextMap] as the MDC of every thread the coroutine runs on. It
+ * needs `kotlinx-coroutines-core` at runtime.
+ *
+ * ```kotlin
+ * MDC.put("requestId", requestId)
+ * launch(Slf4jMDCContext()) {
+ *     logger.info("The requestId is kept after resuming on another thread")
+ * }
+ * ```
+ *
+ * Changes to MDC inside the coroutine are not kept after it suspends,
+ * create a new [Slf4jMDCContext] with `withContext` to keep them. With
+ * [Slf4jMDCAdapter] no map is copied when the coroutine is resumed.
+ *
+ * @param contextMap The MDC of the coroutine, by default the MDC of the
+ * current thread.
+ * @since 1.3.11
+ */
+class Slf4jMDCContext(
+    /** @since 1.3.11 */
+    val contextMap: Map<String, String> = Slf4jMDCAdapter.current()
+) : ThreadContextElement<Map<String, String>>, AbstractCoroutineContextElement(Key) {
+
+    /** @since 1.3.11 */
+    companion object Key : CoroutineContext.Key<Slf4jMDCContext>
+
+    override fun updateThreadContext(context: CoroutineContext): Map<String, String> {
+        val previous = Slf4jMDCAdapter.current()
+        bind(contextMap)
+        return previous
+    }
+
+    override fun restoreThreadContext(context: CoroutineContext, oldState: Map<String, String>) {
+        bind(oldState)
+    }
+
+    /** @since 1.3.11 */
+    private fun bind(contextMap: Map<String, String>) {
+        when (val adapter = MDC.getMDCAdapter()) {
+            is Slf4jMDCAdapter -> adapter.restore(contextMap)
+            null -> Unit
+            else -> adapter.setContextMap(HashMap(contextMap))
+        }
+    }
+}
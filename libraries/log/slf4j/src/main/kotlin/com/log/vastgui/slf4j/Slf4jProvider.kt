@@ -25,7 +25,6 @@ import org.slf4j.ILoggerFactory
 import org.slf4j.IMarkerFactory
 import org.slf4j.LoggerFactory
 import org.slf4j.helpers.BasicMarkerFactory
-import org.slf4j.helpers.NOPMDCAdapter
 import org.slf4j.spi.MDCAdapter
 import org.slf4j.spi.SLF4JServiceProvider
 import kotlin.properties.Delegates
@@ -48,8 +47,12 @@ class Slf4jProvider internal constructor() : SLF4JServiceProvider {
     /** @since 1.3.7 */
     private var slf4jMarkerFactory: IMarkerFactory by Delegates.notNull()
 
-    /** @since 1.3.7 */
-    private var slf4jMdcAdapter: MDCAdapter by Delegates.notNull()
+    /**
+     * It is read by SLF4J before [initialize], so it is initialized here.
+     *
+     * @since 1.3.7
+     */
+    private var slf4jMdcAdapter: MDCAdapter = Options.slf4jMDCAdapter
 
     /** @since 1.3.7 */
     override fun getLoggerFactory() = slf4jFactory
@@ -97,8 +100,12 @@ class Slf4jProvider internal constructor() : SLF4JServiceProvider {
         /** @since 1.3.7 */
         internal var slf4jFactory: Slf4jFactory by NotNUllVar(true)
 
-        /** @since 1.3.7 */
-        internal var slf4jMDCAdapter: MDCAdapter by NotNullOrDefault(NOPMDCAdapter())
+        /**
+         * [Slf4jMDCAdapter] by default since 1.3.11.
+         *
+         * @since 1.3.7
+         */
+        internal var slf4jMDCAdapter: MDCAdapter by NotNullOrDefault(Slf4jMDCAdapter())
 
         /** @since 1.3.7 */
         internal var slf4jMarkerFactory: IMarkerFactory by NotNullOrDefault(BasicMarkerFactory())
@@ -113,6 +120,18 @@ class Slf4jProvider internal constructor() : SLF4JServiceProvider {
             slf4jFactory = Slf4jFactory(logFactory)
         }
 
+        /**
+         * Set the [ILoggerFactory] of the [Slf4jProvider], with the
+         * [configuration] of the loggers by name.
+         *
+         * @see Slf4jConfiguration
+         * @since 1.3.11
+         */
+        @JvmStatic
+        fun setFactory(logFactory: LogFactory, configuration: Slf4jConfiguration.() -> Unit) {
+            slf4jFactory = Slf4jFactory(logFactory, Slf4jConfiguration().apply(configuration))
+        }
+
         /**
          * Set the [MDCAdapter] of the [Slf4jProvider].
          *
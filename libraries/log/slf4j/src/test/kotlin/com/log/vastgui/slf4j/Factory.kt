@@ -47,7 +47,7 @@ val logFactory: LogFactory = getLogFactory {
         converter = gson
     }
     install(LogPretty) {
-        converter = gson
+        indent = 2
     }
     install(LogPrinter) {
         levelSet = allLogLevel
@@ -17,9 +17,14 @@
 package com.log.vastgui.slf4j
 
 import com.log.vastgui.core.annotation.LogExperimental
+import com.log.vastgui.core.base.LogLevel
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withContext
 import org.junit.Test
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
+import org.slf4j.MDC
 import kotlin.properties.Delegates
 
 /*
@@ -61,4 +66,40 @@ class SLF4JKtTest {
         logger.debug("This is a message")
     }
 
+    @Test
+    fun enabledUsage() {
+        Slf4jProvider.Options.setFactory(logFactory)
+        logger = LoggerFactory.getLogger("SLF4JKtTest")
+        if (logger.isDebugEnabled) {
+            logger.debug("Debug is enabled by LogPrinter.levelSet")
+        }
+        logger.atInfo().log("The caller is enabledUsage")
+    }
+
+    @Test
+    fun configurationUsage() {
+        Slf4jProvider.Options.setFactory(logFactory) {
+            level("", LogLevel.INFO)
+            level("com.squareup.okhttp3", LogLevel.WARN)
+        }
+        val okhttp = LoggerFactory.getLogger("com.squareup.okhttp3.OkHttpClient")
+        okhttp.info("This message is ignored")
+        okhttp.warn("This message is printed")
+        LoggerFactory.getLogger("com.log.vastgui.Main").info("This message is printed")
+    }
+
+    @Test
+    fun mdcUsage() {
+        Slf4jProvider.Options.setFactory(logFactory)
+        logger = LoggerFactory.getLogger("SLF4JKtTest")
+        MDC.put("requestId", "42")
+        logger.info("This message has the requestId")
+        runBlocking {
+            withContext(Dispatchers.Default + Slf4jMDCContext()) {
+                logger.info("This message also has the requestId")
+            }
+        }
+        MDC.clear()
+    }
+
 }
\ No newline at end of file
@@ -83,6 +83,11 @@ class AndroidLogger internal constructor(
         mLogScope.launch { mLogChannel.send(logInfo) }
     }
 
+    /** @since 1.3.11 */
+    override fun log(logInfo: LogInfo, content: String) {
+        Log.println(logInfo.levelPriority, logInfo.tag, content)
+    }
+
     init {
         mLogScope.launch {
             while (isActive) {
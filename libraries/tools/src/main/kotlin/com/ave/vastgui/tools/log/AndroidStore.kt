@@ -31,8 +31,13 @@ import com.log.vastgui.core.base.LogStore
 import com.log.vastgui.core.format.DEFAULT_MAX_PRINT_TIMES
 import com.log.vastgui.core.format.DEFAULT_MAX_SINGLE_LOG_LENGTH
 import com.log.vastgui.core.format.TableFormat
+import com.log.vastgui.core.format.ThrowableRenderer
+import com.log.vastgui.core.plugin.LogRouter
+import kotlinx.coroutines.CoroutineName
+import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.isActive
 import kotlinx.coroutines.launch
+import kotlinx.coroutines.selects.select
 import java.io.BufferedWriter
 import java.io.File
 import java.io.FileWriter
@@ -58,6 +63,9 @@ import java.util.Locale
  * }
  * ```
  *
+ * @param throwableRenderer Render the uncaught exception if [logFormat]
+ * is not a [TableFormat]. Otherwise the renderer of [logFormat] is used,
+ * so the `#N` of the deduplicated traces in a file come from one renderer.
  * @since 1.3.1
  */
 @JvmOverloads
@@ -67,10 +75,14 @@ fun LogStore.Companion.android(
     fileNameDateSuffixSdf: SimpleDateFormat = fileNameTimeSdf,
     @IntRange(from = 0L, to = Long.MAX_VALUE) fileMaxSize: Long = 1000 * 1024L,
     logFormat: LogFormat = TableFormat.LogHeader.default.let {
-        TableFormat(DEFAULT_MAX_SINGLE_LOG_LENGTH, DEFAULT_MAX_PRINT_TIMES, it)
-    }
-): AndroidStore =
-    AndroidStore(fileRoot, fileNamePrefix, fileNameDateSuffixSdf, fileMaxSize, logFormat)
+        val renderer = ThrowableRenderer(deduplicate = true)
+        TableFormat(DEFAULT_MAX_SINGLE_LOG_LENGTH, DEFAULT_MAX_PRINT_TIMES, it, throwableRenderer = renderer)
+    },
+    throwableRenderer: ThrowableRenderer =
+        (logFormat as? TableFormat)?.throwableRenderer ?: ThrowableRenderer(deduplicate = true)
+): AndroidStore = AndroidStore(
+    fileRoot, fileNamePrefix, fileNameDateSuffixSdf, fileMaxSize, logFormat, throwableRenderer
+)
 
 /**
  * Android log store.
@@ -80,6 +92,8 @@ fun LogStore.Companion.android(
  * @property fileNameDateSuffixSdf Date format of file name date suffix.
  * @property fileMaxSize The size of a single log file(in bytes).
  * @property logFormat The log format in file.
+ * @property throwableRenderer Render the uncaught exception that is saved
+ * to the file if [logFormat] is not a [TableFormat].
  * @property mFileName The name of the log file.
  * @property mLogSp LogSp is used to save the log file name of the last
  * operation.
@@ -91,7 +105,9 @@ class AndroidStore internal constructor(
     val fileNamePrefix: String,
     val fileNameDateSuffixSdf: SimpleDateFormat,
     val fileMaxSize: Long,
-    override val logFormat: LogFormat
+    override val logFormat: LogFormat,
+    /** @since 1.3.11 */
+    val throwableRenderer: ThrowableRenderer = ThrowableRenderer(deduplicate = true)
 ) : LogScope(), LogStore {
 
     private val mFileName: String
@@ -101,17 +117,37 @@ class AndroidStore internal constructor(
 
     private var mCurrentFile = getCurrentFile()
 
+    /**
+     * A channel of the content formatted by a [LogRouter]. It is drained by
+     * the same coroutine as [mLogChannel], so only one thread writes and
+     * rotates [mCurrentFile].
+     */
+    private val mContentChannel: Channel<String> = Channel()
+
     override fun store(logInfo: LogInfo) {
         mLogScope.launch { mLogChannel.send(logInfo) }
     }
 
+    /** @since 1.3.11 */
+    override fun store(logInfo: LogInfo, content: String) {
+        mLogScope.launch { mContentChannel.send(content) }
+    }
+
     /**
      * Storage the [logInfo] to file.
      *
      * @since 0.5.3
      */
     private fun storage(logInfo: LogInfo) {
-        val message = logFormat.format(logInfo)
+        storage(logFormat.format(logInfo))
+    }
+
+    /**
+     * Storage the formatted [message] to file.
+     *
+     * @since 1.3.11
+     */
+    private fun storage(message: String) {
         val currentNeedSize = mCurrentFile.getCurrentSize() + message.toByteArray().size.toLong()
         if (currentNeedSize > fileMaxSize) {
             mCurrentFile = getCurrentFile(true)
@@ -169,15 +205,25 @@ class AndroidStore internal constructor(
     init {
         mLogScope.launch {
             while (isActive) {
-                val info = mLogChannel.receive()
-                storage(info)
+                select {
+                    mLogChannel.onReceive { storage(it) }
+                    mContentChannel.onReceive { storage(it) }
+                }
             }
         }
 
-        exceptionStorage = ExceptionStorage { _, exception ->
+        exceptionStorage = ExceptionStorage { context, exception ->
             val threadName = Thread.currentThread().name
-            val info = LogInfo(threadName, exception.stackTrace[0], LogLevel.ERROR, TAG,
-                System.currentTimeMillis(), exception.stackTraceToString(), exception)
+            val name = context[CoroutineName]?.name ?: TAG
+            // TableFormat renders LogInfo.throwable, other formats only
+            // write the content, so the trace is written only once.
+            val info = if (logFormat is TableFormat) {
+                LogInfo(threadName, exception.stackTrace[0], LogLevel.ERROR, TAG,
+                    System.currentTimeMillis(), "Uncaught exception in $name.", exception)
+            } else {
+                LogInfo(threadName, exception.stackTrace[0], LogLevel.ERROR, TAG,
+                    System.currentTimeMillis(), throwableRenderer.render(exception))
+            }
             storage(info)
         }
     }
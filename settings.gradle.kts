@@ -30,10 +30,12 @@ val libs = arrayOf(
     "adapter",
     "kernel",
     "log:android",
+    "log:benchmark",
     "log:core",
     "log:desktop",
     "log:mars",
     "log:okhttp",
+    "log:remote",
     "log:slf4j",
     "netstatelayout",
     "tools",